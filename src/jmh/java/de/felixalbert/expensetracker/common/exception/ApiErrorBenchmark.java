@@ -0,0 +1,58 @@
+package de.felixalbert.expensetracker.common.exception;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+
+import de.felixalbert.expensetracker.expense.exception.ExpenseNotFoundException;
+import de.felixalbert.expensetracker.security.component.JwtAuthenticationEntryPoint;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+// error bodies: a handled exception rendered by Jackson, and the pre-encoded 401
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiErrorBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final JwtAuthenticationEntryPoint entryPoint = new JwtAuthenticationEntryPoint();
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final ExpenseNotFoundException notFound = new ExpenseNotFoundException(42L);
+    private final InsufficientAuthenticationException unauthenticated = new InsufficientAuthenticationException("benchmark");
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/expenses/42");
+    }
+
+    @Benchmark
+    public byte[] expenseNotFound() {
+        return objectMapper.writeValueAsBytes(handler.handleExpenseNotFound(notFound, request).getBody());
+    }
+
+    @Benchmark
+    public byte[] unauthorized() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entryPoint.commence(request, response, unauthenticated);
+        return response.getContentAsByteArray();
+    }
+}
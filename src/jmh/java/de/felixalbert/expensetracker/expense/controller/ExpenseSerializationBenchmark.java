@@ -0,0 +1,62 @@
+package de.felixalbert.expensetracker.expense.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.felixalbert.expensetracker.expense.model.ExpensePage;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+// the list endpoint's response body (a page of expense views) at several page sizes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseSerializationBenchmark {
+
+    @Param({"10", "50", "200", "1000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private ExpensePage page;
+
+    @Setup
+    public void setUp() {
+        List<ExpenseView> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new ExpenseView(
+                (long) i,
+                new BigDecimal("12.34").add(BigDecimal.valueOf(i)),
+                "Groceries",
+                LocalDate.of(2026, 1, 1).plusDays(i % 365),
+                "Supermarket purchase " + i,
+                i % 10 == 0 ? ExpenseType.INCOME : ExpenseType.EXPENSE
+            ));
+        }
+        page = new ExpensePage(items, "2026-01-01_" + size);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,82 @@
+package de.felixalbert.expensetracker.security.component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+
+import de.felixalbert.expensetracker.common.exception.ApiError;
+import de.felixalbert.expensetracker.security.service.JwtService;
+import io.jsonwebtoken.ExpiredJwtException;
+import tools.jackson.databind.ObjectMapper;
+
+// the 401 for an expired access token: exception-free expiry check and pre-encoded body,
+// against the ExpiredJwtException and per-response ObjectMapper it replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationEntryPointBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-123456789012345678901234567890";
+
+    private final JwtAuthenticationEntryPoint entryPoint = new JwtAuthenticationEntryPoint();
+    private final InsufficientAuthenticationException unauthenticated = new InsufficientAuthenticationException("benchmark");
+
+    private JwtService jwtService;
+    private String expiredToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, Duration.ofMinutes(15));
+        expiredToken = new JwtService(SECRET, Duration.ofMinutes(-1)).generateToken("test@test.com");
+    }
+
+    @Benchmark
+    public byte[] expiredTokenRejection() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (jwtService.isExpired(expiredToken)) {
+            request.setAttribute(JwtAuthenticationEntryPoint.AUTH_ERROR_ATTRIBUTE, JwtAuthenticationEntryPoint.TOKEN_EXPIRED);
+        }
+
+        entryPoint.commence(request, response, unauthenticated);
+        return response.getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] expiredTokenRejectionWithExceptionAndFreshMapper() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            jwtService.validate(expiredToken);
+        } catch (ExpiredJwtException ex) {
+            request.setAttribute(JwtAuthenticationEntryPoint.AUTH_ERROR_ATTRIBUTE, JwtAuthenticationEntryPoint.TOKEN_EXPIRED);
+        }
+
+        response.setStatus(401);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        ApiError error = new ApiError(Instant.now(), 401, JwtAuthenticationEntryPoint.TOKEN_EXPIRED,
+            "Session expired. Please log in again.", request.getRequestURI(), null);
+        response.getWriter().write(new ObjectMapper().writeValueAsString(error));
+        response.getWriter().flush();
+        return response.getContentAsByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+package de.felixalbert.expensetracker.security.filter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import de.felixalbert.expensetracker.security.model.CustomUserDetails;
+import de.felixalbert.expensetracker.security.service.JwtService;
+import de.felixalbert.expensetracker.security.service.TokenRevocationService;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * One pass through the JWT filter with a chain that does nothing. The user details
+ * service answers from memory, so the numbers are the filter's own cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-123456789012345678901234567890";
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private String expiredAuthorization;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(SECRET, Duration.ofMinutes(15));
+        User user = UserTestDataBuilder.aUser().withId(42L).build();
+        CustomUserDetails userDetails = new CustomUserDetails(user);
+
+        filter = new JwtAuthenticationFilter(
+            jwtService,
+            username -> userDetails,
+            new TokenRevocationService(Duration.ofMinutes(15), null, false),
+            stateless,
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)
+        );
+        authorization = "Bearer " + jwtService.generateToken(user);
+        expiredAuthorization = "Bearer " + new JwtService(SECRET, Duration.ofMinutes(-1)).generateToken(user);
+    }
+
+    @Benchmark
+    public void validToken(Blackhole blackhole) throws ServletException, IOException {
+        run(authorization, blackhole);
+    }
+
+    @Benchmark
+    public void expiredToken(Blackhole blackhole) throws ServletException, IOException {
+        run(expiredAuthorization, blackhole);
+    }
+
+    private void run(String header, Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        request.addHeader("Authorization", header);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,54 @@
+package de.felixalbert.expensetracker.security.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+
+// the principal is built per request: from the entity, or from token claims in stateless mode
+// the way JwtAuthenticationFilter does it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomUserDetailsBenchmark {
+
+    private User user;
+    private JwtClaims claims;
+
+    @Setup
+    public void setUp() {
+        user = UserTestDataBuilder.aUser().withId(42L).build();
+        Instant now = Instant.now();
+        claims = new JwtClaims("test@test.com", 42L, List.of("ROLE_USER"), now, now.plusSeconds(900), "jti");
+    }
+
+    @Benchmark
+    public CustomUserDetails fromUser() {
+        return new CustomUserDetails(user);
+    }
+
+    @Benchmark
+    public CustomUserDetails fromClaims() {
+        List<SimpleGrantedAuthority> authorities = claims.roles().stream()
+            .map(SimpleGrantedAuthority::new)
+            .toList();
+        return new CustomUserDetails(claims.userId(), claims.username(), authorities);
+    }
+}
@@ -0,0 +1,80 @@
+package de.felixalbert.expensetracker.security.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.felixalbert.expensetracker.security.model.JwtClaims;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+// token issuing on login/refresh, claim extraction on every authenticated request;
+// validateByTripleParse is the per-request parsing validate() replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "benchmark-jwt-secret-123456789012345678901234567890";
+
+    private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+    private String expiredToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, Duration.ofMinutes(15));
+        user = UserTestDataBuilder.aUser().withId(42L).build();
+        token = jwtService.generateToken(user);
+        expiredToken = new JwtService(SECRET, Duration.ofMinutes(-1)).generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtClaims validate() {
+        return jwtService.validate(token);
+    }
+
+    // extractUsername, then isTokenValid (extractUsername + isTokenExpired), each with a fresh parser
+    @Benchmark
+    public boolean validateByTripleParse() {
+        String username = parse(token).getSubject();
+        return parse(token).getSubject().equals(username)
+            && !parse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean isExpired() {
+        return jwtService.isExpired(expiredToken);
+    }
+
+    private Claims parse(String token) {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
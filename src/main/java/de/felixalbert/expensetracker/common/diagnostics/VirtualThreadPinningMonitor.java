@@ -0,0 +1,79 @@
+package de.felixalbert.expensetracker.common.diagnostics;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event and logs where a virtual thread
+ * blocked while pinned to its carrier, typically I/O or a lock inside a
+ * {@code synchronized} block of a driver or library. Each distinct stack is logged once;
+ * how often pinning happens is in the {@code jvm.threads.virtual.pinned} timer.
+ */
+@Component
+@ConditionalOnBooleanProperty("threads.pinning-diagnostics.enabled")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_FRAMES = 16;
+    private static final int MAX_REPORTED_STACKS = 1000;
+
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+        @Value("${threads.pinning-diagnostics.threshold:20ms}") Duration threshold
+    ) {
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void close() {
+        stream.close();
+    }
+
+    Set<String> reportedStacks() {
+        return reportedStacks;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String stack = stack(event.getStackTrace());
+        if (reportedStacks.size() < MAX_REPORTED_STACKS && reportedStacks.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String stack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+            .limit(MAX_FRAMES)
+            .map(VirtualThreadPinningMonitor::frame)
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + "(line " + frame.getLineNumber() + ")";
+    }
+}
@@ -3,6 +3,7 @@ package de.felixalbert.expensetracker.common.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -10,8 +11,12 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import de.felixalbert.expensetracker.expense.exception.BatchTooLargeException;
 import de.felixalbert.expensetracker.expense.exception.ExpenseNotFoundException;
+import de.felixalbert.expensetracker.expense.exception.InvalidCursorException;
+import de.felixalbert.expensetracker.expense.exception.InvalidImportFileException;
 import de.felixalbert.expensetracker.security.exception.InvalidRefreshTokenException;
+import de.felixalbert.expensetracker.security.exception.PasswordHashingOverloadedException;
 import de.felixalbert.expensetracker.security.exception.RefreshTokenExpiredException;
 import de.felixalbert.expensetracker.user.exception.UserAlreadyInUseException;
 import de.felixalbert.expensetracker.user.exception.UserNotFoundException;
@@ -50,6 +55,21 @@ public class GlobalExceptionHandler {
             ));
     }
 
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ApiError> handlePasswordHashingOverloaded(
+        PasswordHashingOverloadedException ex,
+        HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+            .body(ApiError.of(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "AUTH_OVERLOADED",
+                ex.getMessage(),
+                request
+            ));
+    }
+
     @ExceptionHandler(ExpenseNotFoundException.class)
     public ResponseEntity<ApiError> handleExpenseNotFound(
         ExpenseNotFoundException ex,
@@ -64,6 +84,48 @@ public class GlobalExceptionHandler {
             ));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursor(
+        InvalidCursorException ex,
+        HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiError.of(
+                HttpStatus.BAD_REQUEST,
+                "INVALID_CURSOR",
+                "Invalid page cursor.",
+                request
+            ));
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ApiError> handleBatchTooLarge(
+        BatchTooLargeException ex,
+        HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiError.of(
+                HttpStatus.BAD_REQUEST,
+                "BATCH_TOO_LARGE",
+                ex.getMessage(),
+                request
+            ));
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ApiError> handleInvalidImportFile(
+        InvalidImportFileException ex,
+        HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiError.of(
+                HttpStatus.BAD_REQUEST,
+                "INVALID_IMPORT_FILE",
+                ex.getMessage(),
+                request
+            ));
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ApiError> handleUserNotFound(
         UserNotFoundException ex,
@@ -0,0 +1,34 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * The databases we run on. Statements that modify rows and read them back in one round
+ * trip need different SQL per database: PostgreSQL has {@code RETURNING}, H2 (tests)
+ * selects from the {@code OLD TABLE} / {@code FINAL TABLE} of the data change instead.
+ */
+public enum DatabaseDialect {
+
+    POSTGRESQL,
+    H2;
+
+    public static DatabaseDialect of(EntityManager entityManager) {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect();
+
+        if (dialect instanceof PostgreSQLDialect) {
+            return POSTGRESQL;
+        }
+        if (dialect instanceof H2Dialect) {
+            return H2;
+        }
+        throw new IllegalStateException("Unsupported database dialect: " + dialect.getClass().getName());
+    }
+}
@@ -0,0 +1,31 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Target for read-only connections: the replica, unless {@link ReadRouting} requires the
+ * primary on the current thread. Wrapped by a {@code LazyConnectionDataSourceProxy}, which
+ * only asks for a connection once the transaction's read-only flag is known.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ReadRouting.isPrimaryRequired() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -0,0 +1,54 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import java.util.function.Supplier;
+
+/**
+ * Decides per thread whether read-only transactions may use the replica. By default they
+ * do; inside {@link #primary()} they read from the primary, for reads that must see
+ * writes the replica may not have received yet. Without a configured replica everything
+ * runs on the primary anyway and this has no effect.
+ *
+ * <p>The decision does not follow work handed to another thread; capture
+ * {@link #isPrimaryRequired()} and reapply it there with {@link #of(boolean)}.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    private ReadRouting() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get();
+    }
+
+    /**
+     * Routes reads on this thread to the primary until the returned scope is closed.
+     * The previous state is restored, so scopes nest.
+     */
+    public static Scope primary() {
+        return of(true);
+    }
+
+    /**
+     * Applies a decision captured on another thread until the returned scope is closed.
+     */
+    public static Scope of(boolean primaryRequired) {
+        boolean previous = PRIMARY.get();
+        PRIMARY.set(primaryRequired);
+        return () -> PRIMARY.set(previous);
+    }
+
+    public static <T> T onPrimary(Supplier<T> read) {
+        try (Scope scope = primary()) {
+            return read.get();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
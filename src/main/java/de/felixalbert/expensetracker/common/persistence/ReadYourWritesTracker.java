@@ -0,0 +1,41 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Remembers which users wrote within the last {@code window}, the replication lag we
+ * tolerate. Their reads go to the primary during that window, so a user always sees
+ * their own changes while everyone else may read slightly stale data from the replica.
+ *
+ * <p>The tracker only knows writes handled by this instance. Behind a load balancer the
+ * marker travels with the client instead, see {@code ReadYourWritesFilter}; the tracker
+ * covers clients that do not send it back.
+ */
+public class ReadYourWritesTracker {
+
+    private final Duration window;
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxUsers) {
+        this.window = window;
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .maximumSize(maxUsers)
+            .build();
+    }
+
+    public Duration window() {
+        return window;
+    }
+
+    public void markWritten(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean recentlyWrote(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,63 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the number of SQL statements each request executed as
+ * {@code hibernate.statements.per_request}, tagged with the matched URI pattern like
+ * {@code http.server.requests}. A handler whose count grows with the page size has an
+ * N+1 query. Runs first, ahead of the security filter chain, so the statements of the
+ * per-request authentication are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "hibernate.statements.per_request";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public StatementCountFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        StatementCountingInspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCountingInspector.count();
+            meterRegistry.ifAvailable(registry -> DistributionSummary.builder(METRIC)
+                .description("SQL statements executed per HTTP request")
+                .baseUnit("statements")
+                .tag("uri", uri(request))
+                .register(registry)
+                .record(statements));
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
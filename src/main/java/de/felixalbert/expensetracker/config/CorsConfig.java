@@ -20,6 +20,7 @@ public class CorsConfig {
         ));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("ETag", "Retry-After")); // If-None-Match and back-off are handled by the frontend
         configuration.setAllowCredentials(true); //refresh token as cookie
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
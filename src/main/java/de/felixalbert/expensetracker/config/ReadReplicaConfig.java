@@ -0,0 +1,75 @@
+package de.felixalbert.expensetracker.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import de.felixalbert.expensetracker.common.persistence.ReadReplicaRoutingDataSource;
+import de.felixalbert.expensetracker.common.persistence.ReadYourWritesTracker;
+
+/**
+ * Sends read-only transactions to a replica once {@code datasource.replica.url} is set;
+ * all other work, and reads of users within their read-your-writes window, stay on the
+ * primary. Without a replica URL the auto-configured single datasource is used.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+        @Value("${datasource.replica.url}") String url,
+        @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+        @Value("${datasource.replica.password:${spring.datasource.password:}}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // the proxy fetches the physical connection on first use, after the transaction has set read-only
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+        @Value("${datasource.replica.read-your-writes-window:5s}") Duration window,
+        @Value("${datasource.replica.read-your-writes-max-users:100000}") long maxUsers
+    ) {
+        return new ReadYourWritesTracker(window, maxUsers);
+    }
+}
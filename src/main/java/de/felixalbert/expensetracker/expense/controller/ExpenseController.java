@@ -1,14 +1,43 @@
 package de.felixalbert.expensetracker.expense.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import de.felixalbert.expensetracker.common.persistence.ReadRouting;
+import de.felixalbert.expensetracker.expense.model.BatchCreateResult;
+import de.felixalbert.expensetracker.expense.model.CategorySummary;
 import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseChanges;
+import de.felixalbert.expensetracker.expense.model.ExpenseFilter;
+import de.felixalbert.expensetracker.expense.model.ExpensePage;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.model.ExportFormat;
+import de.felixalbert.expensetracker.expense.model.ImportResult;
+import de.felixalbert.expensetracker.expense.model.MonthlySummary;
+import de.felixalbert.expensetracker.expense.model.TypeSummary;
+import de.felixalbert.expensetracker.expense.service.ExpenseBatchService;
+import de.felixalbert.expensetracker.expense.service.ExpenseExportService;
+import de.felixalbert.expensetracker.expense.service.ExpenseImportService;
 import de.felixalbert.expensetracker.expense.service.ExpenseService;
+import de.felixalbert.expensetracker.expense.service.ExpenseSummaryService;
+import de.felixalbert.expensetracker.expense.service.ExpenseSyncService;
 import de.felixalbert.expensetracker.security.model.CustomUserDetails;
 import jakarta.validation.Valid;
 
@@ -17,24 +46,137 @@ import jakarta.validation.Valid;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseSummaryService expenseSummaryService;
+    private final ExpenseBatchService expenseBatchService;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseSyncService expenseSyncService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(
+        ExpenseService expenseService,
+        ExpenseExportService expenseExportService,
+        ExpenseSummaryService expenseSummaryService,
+        ExpenseBatchService expenseBatchService,
+        ExpenseImportService expenseImportService,
+        ExpenseSyncService expenseSyncService,
+        @Value("${expense.page.default-size:50}") int defaultPageSize,
+        @Value("${expense.page.max-size:200}") int maxPageSize
+    ) {
         this.expenseService = expenseService;
+        this.expenseExportService = expenseExportService;
+        this.expenseSummaryService = expenseSummaryService;
+        this.expenseBatchService = expenseBatchService;
+        this.expenseImportService = expenseImportService;
+        this.expenseSyncService = expenseSyncService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @GetMapping
-    public ResponseEntity<List<Expense>> getAllExpenses(@AuthenticationPrincipal CustomUserDetails user) {
-        return ResponseEntity.ok(expenseService.getAll(user.getId()));
+    public ResponseEntity<ExpensePage> getExpenses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) ExpenseType type,
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        ExpenseFilter filter = new ExpenseFilter(from, to, category, type);
+        return conditional(headers, user.getId(),
+            () -> expenseService.getPage(user.getId(), filter, cursor, pageSize(limit)));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ExpenseChanges> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        return conditional(headers, user.getId(),
+            () -> expenseSyncService.getChanges(user.getId(), since, pageSize(limit)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExpenseView> getExpense(
+            @PathVariable Long id,
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        return conditional(headers, user.getId(), () -> expenseService.getViewById(id, user.getId()));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        Long userId = user.getId();
+        // the body is written on an async thread, limited by spring.mvc.async.request-timeout,
+        // which does not inherit the read routing of this one
+        boolean primaryRequired = ReadRouting.isPrimaryRequired();
+        StreamingResponseBody body = out -> {
+            try (ReadRouting.Scope scope = ReadRouting.of(primaryRequired)) {
+                expenseExportService.export(userId, format, out);
+            }
+        };
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+            .filename("expenses." + format.getFileExtension())
+            .build();
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+            .body(body);
+    }
+
+    @GetMapping("/summary/monthly")
+    public ResponseEntity<List<MonthlySummary>> getMonthlySummary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        return conditional(headers, user.getId(), () -> expenseSummaryService.getMonthly(user.getId(), from, to));
+    }
+
+    @GetMapping("/summary/categories")
+    public ResponseEntity<List<CategorySummary>> getCategorySummary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        return conditional(headers, user.getId(), () -> expenseSummaryService.getByCategory(user.getId(), from, to));
+    }
+
+    @GetMapping("/summary/totals")
+    public ResponseEntity<List<TypeSummary>> getTotalsSummary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal CustomUserDetails user) {
+        return conditional(headers, user.getId(), () -> expenseSummaryService.getTotals(user.getId(), from, to));
     }
 
     @PostMapping
-    public ResponseEntity<Expense> createExpense(@Valid @RequestBody Expense expense, @AuthenticationPrincipal CustomUserDetails user) {
+    public ResponseEntity<ExpenseView> createExpense(@Valid @RequestBody Expense expense, @AuthenticationPrincipal CustomUserDetails user) {
         Expense created = expenseService.create(expense, user.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ExpenseView.of(created));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResult> createExpenses(@RequestBody List<Expense> expenses, @AuthenticationPrincipal CustomUserDetails user) {
+        return ResponseEntity.ok(expenseBatchService.createBatch(expenses, user.getId()));
+    }
+
+    // the body is read straight from the request stream, never buffered as a whole
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResult> importExpenses(InputStream body, @AuthenticationPrincipal CustomUserDetails user) throws IOException {
+        return ResponseEntity.ok(expenseImportService.importCsv(body, user.getId()));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Expense> updateExpense(
+    public ResponseEntity<ExpenseView> updateExpense(
             @PathVariable Long id,
             @Valid @RequestBody Expense updatedExpense,
             @AuthenticationPrincipal CustomUserDetails user) {
@@ -46,4 +188,42 @@ public class ExpenseController {
         expenseService.deleteById(id, user.getId());
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Answers {@code If-None-Match} from the user's data version alone, so an unchanged
+     * poll costs one primary key lookup and the body is neither queried nor serialized.
+     * The version is read before the body: a concurrent write can only leave the ETag
+     * older than the data, which the next request corrects, never newer.
+     *
+     * <p>The ETag is a weak validator in all but syntax: it names the state of all of the
+     * user's expenses, not of one representation, and the same value is sent for
+     * {@code /{id}}, the list, {@code /changes} and the summaries. It only says "nothing of
+     * this user changed", so it must not be used for byte ranges or {@code If-Match}.
+     * {@code *} matches any existing representation, so it is only answered with 304 once
+     * the body has been resolved; a missing expense still ends in 404.
+     */
+    private <T> ResponseEntity<T> conditional(HttpHeaders headers, Long userId, Supplier<T> body) {
+        String etag = "\"" + userId + "-" + expenseService.getDataVersion(userId) + "\"";
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+
+        boolean notModified = ifNoneMatch.stream()
+            .anyMatch(tag -> tag.replaceFirst("^W/", "").equals(etag));
+        if (notModified) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        T resolved = body.get();
+        if (ifNoneMatch.contains("*")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(resolved);
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
 }
\ No newline at end of file
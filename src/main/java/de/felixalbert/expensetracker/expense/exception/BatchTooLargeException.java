@@ -0,0 +1,15 @@
+package de.felixalbert.expensetracker.expense.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+
+    private final int maxSize;
+
+    public BatchTooLargeException(int size, int maxSize) {
+        super("Batch of " + size + " expenses exceeds the maximum of " + maxSize);
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,15 @@
+package de.felixalbert.expensetracker.expense.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    private final String cursor;
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+        this.cursor = cursor;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
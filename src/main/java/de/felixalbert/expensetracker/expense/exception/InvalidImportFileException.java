@@ -0,0 +1,8 @@
+package de.felixalbert.expensetracker.expense.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.util.List;
+
+public record BatchCreateResult(
+    int created,
+    int rejected,
+    List<BatchItemResult> items
+) {}
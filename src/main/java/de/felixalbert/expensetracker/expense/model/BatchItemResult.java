@@ -0,0 +1,18 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.util.Map;
+
+public record BatchItemResult(
+    int index,
+    boolean success,
+    Long id,
+    Map<String, String> fieldErrors
+) {
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, true, id, null);
+    }
+
+    public static BatchItemResult rejected(int index, Map<String, String> fieldErrors) {
+        return new BatchItemResult(index, false, null, fieldErrors);
+    }
+}
@@ -0,0 +1,10 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.math.BigDecimal;
+
+public record CategorySummary(
+    String category,
+    ExpenseType type,
+    BigDecimal total,
+    long count
+) {}
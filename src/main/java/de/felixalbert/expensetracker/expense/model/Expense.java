@@ -8,10 +8,16 @@ import java.time.LocalDate;
 import de.felixalbert.expensetracker.user.model.User;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_expense_user_date_id", columnList = "user_id, date, id"),
+    @Index(name = "idx_expense_user_change", columnList = "user_id, change_version")
+})
 public class Expense {
 
+    // pooled sequence instead of IDENTITY, so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Amount must not be null")
@@ -32,6 +38,10 @@ public class Expense {
     @NotNull(message = "Expense type must not be null")
     private ExpenseType type;
 
+    // the user's data version at the last write of this expense, see ExpenseService
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -46,7 +56,7 @@ public class Expense {
                     String description,
                     ExpenseType type) {
         this.amount = amount;
-        this.category = category;
+        this.category = normalizeCategory(category);
         this.date = date;
         this.description = description;
         this.type = type;
@@ -61,7 +71,7 @@ public class Expense {
             ExpenseType type) {
         this.id = id;
         this.amount = amount;
-        this.category = category;
+        this.category = normalizeCategory(category);
         this.date = date;
         this.description = description;
         this.type = type;
@@ -92,6 +102,10 @@ public class Expense {
         return type;
     }
 
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
     public User getUser() {
         return user;
     }
@@ -102,7 +116,7 @@ public class Expense {
     }
 
     public void setCategory(String category) {
-        this.category = category;
+        this.category = normalizeCategory(category);
     }
 
     public void setDate(LocalDate date) {
@@ -117,7 +131,16 @@ public class Expense {
         this.type = type;
     }
 
+    public void setChangeVersion(long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public void setUser(User user) {
         this.user = user;
     }
+
+    // an empty category means none, so it cannot collide with ExpenseRollup.NO_CATEGORY
+    private static String normalizeCategory(String category) {
+        return category == null || category.isEmpty() ? null : category;
+    }
 }
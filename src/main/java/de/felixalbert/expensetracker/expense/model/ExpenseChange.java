@@ -0,0 +1,22 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A created or updated expense together with the change version of its last write.
+ */
+public record ExpenseChange(
+    ExpenseView expense,
+    long changeVersion
+) {
+    public ExpenseChange(Long id,
+                         BigDecimal amount,
+                         String category,
+                         LocalDate date,
+                         String description,
+                         ExpenseType type,
+                         long changeVersion) {
+        this(new ExpenseView(id, amount, category, date, description, type), changeVersion);
+    }
+}
@@ -0,0 +1,14 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.util.List;
+
+/**
+ * Changes after a sync cursor. {@code cursor} is passed as {@code since} on the next
+ * call; {@code hasMore} means further changes exist up to the version read at request time.
+ */
+public record ExpenseChanges(
+    List<ExpenseView> upserted,
+    List<Long> deleted,
+    long cursor,
+    boolean hasMore
+) {}
@@ -0,0 +1,46 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import de.felixalbert.expensetracker.expense.exception.InvalidCursorException;
+
+/**
+ * Keyset position of the last expense of a page.
+ * Encoded as an opaque URL-safe string so clients only pass it back unchanged.
+ */
+public record ExpenseCursor(
+    LocalDate date,
+    Long id
+) {
+    public static ExpenseCursor of(ExpenseView expense) {
+        return new ExpenseCursor(expense.date(), expense.id());
+    }
+
+    public String encode() {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ExpenseCursor decode(String cursor) {
+        try {
+            String raw = new String(
+                Base64.getUrlDecoder().decode(cursor),
+                StandardCharsets.UTF_8
+            );
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new ExpenseCursor(
+                LocalDate.parse(raw.substring(0, separator)),
+                Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
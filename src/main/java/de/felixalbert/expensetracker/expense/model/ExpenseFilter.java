@@ -0,0 +1,14 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.time.LocalDate;
+
+public record ExpenseFilter(
+    LocalDate from,
+    LocalDate to,
+    String category,
+    ExpenseType type
+) {
+    public static ExpenseFilter none() {
+        return new ExpenseFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,8 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.util.List;
+
+public record ExpensePage(
+    List<ExpenseView> items,
+    String nextCursor
+) {}
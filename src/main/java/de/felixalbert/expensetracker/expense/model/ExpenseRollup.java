@@ -0,0 +1,101 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Running sum and count of a user's expenses per (month, category, type).
+ * Maintained by {@code ExpenseRollupService} in the same transaction as the expense mutation.
+ */
+@Entity
+@Table(
+    name = "expense_rollups",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_expense_rollups_key",
+        columnNames = {"user_id", "month_start", "category", "type"}
+    )
+)
+public class ExpenseRollup {
+
+    // category is part of the unique key, so "no category" is stored as '' instead of NULL;
+    // Expense turns an empty category into NULL, so no real category maps to ''
+    public static final String NO_CATEGORY = "";
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate month;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExpenseType type;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    protected ExpenseRollup() {
+        // for JPA
+    }
+
+    public ExpenseRollup(Long userId,
+                         LocalDate month,
+                         String category,
+                         ExpenseType type,
+                         BigDecimal total,
+                         long entryCount) {
+        this.userId = userId;
+        this.month = month;
+        this.category = category;
+        this.type = type;
+        this.total = total;
+        this.entryCount = entryCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public ExpenseType getType() {
+        return type;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+}
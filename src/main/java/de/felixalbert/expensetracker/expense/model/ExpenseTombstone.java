@@ -0,0 +1,69 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Marks a deleted expense for delta sync. Written by {@code ExpenseService.deleteById}
+ * with the change version of the delete, so clients can drop the expense locally.
+ */
+@Entity
+@Table(
+    name = "expense_tombstones",
+    indexes = @Index(name = "idx_expense_tombstones_user_change", columnList = "user_id, change_version")
+)
+public class ExpenseTombstone {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expense_id", nullable = false)
+    private Long expenseId;
+
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+    protected ExpenseTombstone() {
+        // for JPA
+    }
+
+    public ExpenseTombstone(Long userId, Long expenseId, long changeVersion) {
+        this.userId = userId;
+        this.expenseId = expenseId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
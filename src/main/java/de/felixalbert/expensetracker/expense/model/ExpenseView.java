@@ -0,0 +1,28 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only representation of an expense as returned by the API.
+ * Repository queries select it directly, so no managed entity or user proxy is created.
+ */
+public record ExpenseView(
+    Long id,
+    BigDecimal amount,
+    String category,
+    LocalDate date,
+    String description,
+    ExpenseType type
+) {
+    public static ExpenseView of(Expense expense) {
+        return new ExpenseView(
+            expense.getId(),
+            expense.getAmount(),
+            expense.getCategory(),
+            expense.getDate(),
+            expense.getDescription(),
+            expense.getType()
+        );
+    }
+}
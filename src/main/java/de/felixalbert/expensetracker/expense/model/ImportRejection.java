@@ -0,0 +1,6 @@
+package de.felixalbert.expensetracker.expense.model;
+
+public record ImportRejection(
+    long line,
+    String reason
+) {}
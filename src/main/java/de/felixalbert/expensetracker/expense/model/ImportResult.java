@@ -0,0 +1,13 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import. {@code rejections} holds at most the configured
+ * number of entries; {@code rejected} is always the full count.
+ */
+public record ImportResult(
+    long imported,
+    long rejected,
+    List<ImportRejection> rejections
+) {}
@@ -0,0 +1,11 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.math.BigDecimal;
+
+public record MonthlySummary(
+    int year,
+    int month,
+    ExpenseType type,
+    BigDecimal total,
+    long count
+) {}
@@ -0,0 +1,15 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RollupDrift(
+    Long userId,
+    LocalDate month,
+    String category,
+    ExpenseType type,
+    BigDecimal expectedTotal,
+    long expectedCount,
+    BigDecimal actualTotal,
+    long actualCount
+) {}
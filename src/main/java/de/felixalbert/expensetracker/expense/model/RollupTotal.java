@@ -0,0 +1,19 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sum and count of one rollup key, either read from the rollup table or recomputed from raw expenses.
+ */
+public record RollupTotal(
+    LocalDate month,
+    String category,
+    ExpenseType type,
+    BigDecimal total,
+    long count
+) {
+    public RollupTotal(int year, int month, String category, ExpenseType type, BigDecimal total, long count) {
+        this(LocalDate.of(year, month, 1), category, type, total, count);
+    }
+}
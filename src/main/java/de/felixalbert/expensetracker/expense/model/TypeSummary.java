@@ -0,0 +1,9 @@
+package de.felixalbert.expensetracker.expense.model;
+
+import java.math.BigDecimal;
+
+public record TypeSummary(
+    ExpenseType type,
+    BigDecimal total,
+    long count
+) {}
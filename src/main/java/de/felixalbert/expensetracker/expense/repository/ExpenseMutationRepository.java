@@ -0,0 +1,25 @@
+package de.felixalbert.expensetracker.expense.repository;
+
+import java.util.Optional;
+
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+
+/**
+ * Ownership-checked mutations that need exactly one statement each: the row is only
+ * touched if it belongs to the user, and its previous state comes back with the result.
+ * Nothing is loaded into the persistence context.
+ */
+public interface ExpenseMutationRepository {
+
+    /**
+     * Deletes the expense and returns its last state, or an empty result if the user has no such expense.
+     */
+    Optional<ExpenseView> deleteOwned(Long id, Long userId);
+
+    /**
+     * Overwrites the editable fields and the change version and returns the state before
+     * the update, or an empty result if the user has no such expense.
+     */
+    Optional<ExpenseView> updateOwned(Long id, Long userId, Expense changes, long changeVersion);
+}
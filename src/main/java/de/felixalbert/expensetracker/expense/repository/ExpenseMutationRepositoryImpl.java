@@ -0,0 +1,116 @@
+package de.felixalbert.expensetracker.expense.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.query.NativeQuery;
+
+import de.felixalbert.expensetracker.common.persistence.DatabaseDialect;
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class ExpenseMutationRepositoryImpl implements ExpenseMutationRepository {
+
+    private static final String COLUMNS = "id, amount, category, date, description, type";
+
+    private static final String POSTGRESQL_DELETE = """
+        delete from expense
+        where id = :id and user_id = :userId
+        returning %s
+        """.formatted(COLUMNS);
+
+    private static final String H2_DELETE = """
+        select %s from old table (
+            delete from expense
+            where id = :id and user_id = :userId
+        )
+        """.formatted(COLUMNS);
+
+    // the self join exposes the row as it was before the update; the caller holds the
+    // user's version lock, so no other write of this user can change it in between
+    private static final String POSTGRESQL_UPDATE = """
+        update expense e
+        set amount = :amount, category = :category, date = :date,
+            description = :description, type = :type, change_version = :changeVersion
+        from expense old
+        where e.id = :id and e.user_id = :userId and old.id = e.id
+        returning old.id, old.amount, old.category, old.date, old.description, old.type
+        """;
+
+    private static final String H2_UPDATE = """
+        select %s from old table (
+            update expense
+            set amount = :amount, category = :category, date = :date,
+                description = :description, type = :type, change_version = :changeVersion
+            where id = :id and user_id = :userId
+        )
+        """.formatted(COLUMNS);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<ExpenseView> deleteOwned(Long id, Long userId) {
+        String sql = postgres() ? POSTGRESQL_DELETE : H2_DELETE;
+
+        NativeQuery<Object[]> query = viewQuery(sql)
+            .setParameter("id", id)
+            .setParameter("userId", userId);
+
+        return single(query.getResultList());
+    }
+
+    @Override
+    public Optional<ExpenseView> updateOwned(Long id, Long userId, Expense changes, long changeVersion) {
+        String sql = postgres() ? POSTGRESQL_UPDATE : H2_UPDATE;
+
+        NativeQuery<Object[]> query = viewQuery(sql)
+            .setParameter("amount", changes.getAmount(), BigDecimal.class)
+            .setParameter("category", changes.getCategory(), String.class)
+            .setParameter("date", changes.getDate(), LocalDate.class)
+            .setParameter("description", changes.getDescription(), String.class)
+            .setParameter("type", changes.getType().name(), String.class)
+            .setParameter("changeVersion", changeVersion)
+            .setParameter("id", id)
+            .setParameter("userId", userId);
+
+        return single(query.getResultList());
+    }
+
+    private boolean postgres() {
+        return DatabaseDialect.of(entityManager) == DatabaseDialect.POSTGRESQL;
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> viewQuery(String sql) {
+        return entityManager.createNativeQuery(sql)
+            .unwrap(NativeQuery.class)
+            .addScalar("id", Long.class)
+            .addScalar("amount", BigDecimal.class)
+            .addScalar("category", String.class)
+            .addScalar("date", LocalDate.class)
+            .addScalar("description", String.class)
+            .addScalar("type", String.class);
+    }
+
+    private static Optional<ExpenseView> single(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Object[] row = rows.get(0);
+        return Optional.of(new ExpenseView(
+            (Long) row[0],
+            (BigDecimal) row[1],
+            (String) row[2],
+            (LocalDate) row[3],
+            (String) row[4],
+            ExpenseType.valueOf((String) row[5])
+        ));
+    }
+}
@@ -0,0 +1,32 @@
+package de.felixalbert.expensetracker.expense.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+
+/**
+ * Keyset pages of a user's expenses. The query only contains the filters that are set,
+ * so the database can range-scan {@code idx_expense_user_date_id} instead of evaluating
+ * {@code :param is null or ...} for every row of the user.
+ */
+public interface ExpensePageRepository {
+
+    /**
+     * Returns expenses ordered by (date, id) descending, starting after the cursor
+     * (date, id), or at the newest expense if the cursor is null. Null filters match everything.
+     */
+    List<ExpenseView> findPage(
+        Long userId,
+        LocalDate from,
+        LocalDate to,
+        String category,
+        ExpenseType type,
+        LocalDate cursorDate,
+        Long cursorId,
+        Limit limit
+    );
+}
@@ -0,0 +1,76 @@
+package de.felixalbert.expensetracker.expense.repository;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Limit;
+
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+class ExpensePageRepositoryImpl implements ExpensePageRepository {
+
+    private static final String SELECT = """
+        select new de.felixalbert.expensetracker.expense.model.ExpenseView(
+            e.id, e.amount, e.category, e.date, e.description, e.type)
+        from Expense e
+        where e.user.id = :userId
+        """;
+
+    private static final String ORDER = " order by e.date desc, e.id desc";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ExpenseView> findPage(
+        Long userId,
+        LocalDate from,
+        LocalDate to,
+        String category,
+        ExpenseType type,
+        LocalDate cursorDate,
+        Long cursorId,
+        Limit limit
+    ) {
+        StringBuilder jpql = new StringBuilder(SELECT);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("userId", userId);
+
+        if (from != null) {
+            jpql.append(" and e.date >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" and e.date <= :to");
+            parameters.put("to", to);
+        }
+        if (category != null) {
+            jpql.append(" and e.category = :category");
+            parameters.put("category", category);
+        }
+        if (type != null) {
+            jpql.append(" and e.type = :type");
+            parameters.put("type", type);
+        }
+        // one row-value comparison, which the index serves as a single range
+        if (cursorDate != null) {
+            jpql.append(" and (e.date, e.id) < (:cursorDate, :cursorId)");
+            parameters.put("cursorDate", cursorDate);
+            parameters.put("cursorId", cursorId);
+        }
+        jpql.append(ORDER);
+
+        TypedQuery<ExpenseView> query = entityManager.createQuery(jpql.toString(), ExpenseView.class);
+        parameters.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+}
@@ -2,16 +2,69 @@ package de.felixalbert.expensetracker.expense.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseChange;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.model.RollupTotal;
+import jakarta.persistence.QueryHint;
+
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseMutationRepository, ExpensePageRepository {
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+    boolean existsByIdAndUserId(Long id, Long userId);
 
-    List<Expense> findAllByUserId(Long userId);
+    @Query("""
+        select new de.felixalbert.expensetracker.expense.model.ExpenseView(
+            e.id, e.amount, e.category, e.date, e.description, e.type)
+        from Expense e
+        where e.id = :id and e.user.id = :userId
+        """)
+    Optional<ExpenseView> findViewByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-    Optional<Expense> findByIdAndUserId(Long id, Long userId);
+    // Must be consumed inside a transaction; the fetch size keeps the JDBC driver from buffering all rows
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        select new de.felixalbert.expensetracker.expense.model.ExpenseView(
+            e.id, e.amount, e.category, e.date, e.description, e.type)
+        from Expense e
+        where e.user.id = :userId
+        order by e.date desc, e.id desc
+        """)
+    Stream<ExpenseView> streamViewsByUserId(@Param("userId") Long userId);
 
-    boolean existsByIdAndUserId(Long id, Long userId);
+    @Query("""
+        select new de.felixalbert.expensetracker.expense.model.ExpenseChange(
+            e.id, e.amount, e.category, e.date, e.description, e.type, e.changeVersion)
+        from Expense e
+        where e.user.id = :userId
+          and e.changeVersion > :since
+          and e.changeVersion <= :until
+        order by e.changeVersion
+        """)
+    List<ExpenseChange> findChanges(
+        @Param("userId") Long userId,
+        @Param("since") long since,
+        @Param("until") long until,
+        Limit limit
+    );
+
+    // Raw (month, category, type) totals used to verify and rebuild the rollup table
+    @Query("""
+        select new de.felixalbert.expensetracker.expense.model.RollupTotal(
+            year(e.date), month(e.date), coalesce(e.category, ''), e.type, sum(e.amount), count(e))
+        from Expense e
+        where e.user.id = :userId
+        group by year(e.date), month(e.date), coalesce(e.category, ''), e.type
+        """)
+    List<RollupTotal> computeRollupTotals(@Param("userId") Long userId);
     
-}
\ No newline at end of file
+}
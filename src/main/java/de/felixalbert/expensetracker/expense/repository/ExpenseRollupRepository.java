@@ -0,0 +1,101 @@
+package de.felixalbert.expensetracker.expense.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.felixalbert.expensetracker.expense.model.CategorySummary;
+import de.felixalbert.expensetracker.expense.model.ExpenseRollup;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.MonthlySummary;
+import de.felixalbert.expensetracker.expense.model.RollupTotal;
+import de.felixalbert.expensetracker.expense.model.TypeSummary;
+
+public interface ExpenseRollupRepository extends JpaRepository<ExpenseRollup, Long> {
+
+    @Modifying
+    @Query("""
+        update ExpenseRollup r
+        set r.total = r.total + :amount, r.entryCount = r.entryCount + :count
+        where r.userId = :userId
+          and r.month = :month
+          and r.category = :category
+          and r.type = :type
+        """)
+    int addToRollup(
+        @Param("userId") Long userId,
+        @Param("month") LocalDate month,
+        @Param("category") String category,
+        @Param("type") ExpenseType type,
+        @Param("amount") BigDecimal amount,
+        @Param("count") long count
+    );
+
+    @Query("""
+        select new de.felixalbert.expensetracker.expense.model.RollupTotal(
+            r.month, r.category, r.type, r.total, r.entryCount)
+        from ExpenseRollup r
+        where r.userId = :userId and r.entryCount <> 0
+        """)
+    List<RollupTotal> findTotalsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from ExpenseRollup r where r.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Query("""
+        select new de.felixalbert.expensetracker.expense.model.MonthlySummary(
+            year(r.month), month(r.month), r.type, sum(r.total), sum(r.entryCount))
+        from ExpenseRollup r
+        where r.userId = :userId
+          and (:from is null or r.month >= :from)
+          and (:to is null or r.month <= :to)
+        group by r.month, r.type
+        having sum(r.entryCount) > 0
+        order by r.month, r.type
+        """)
+    List<MonthlySummary> summarizeByMonth(
+        @Param("userId") Long userId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    @Query("""
+        select new de.felixalbert.expensetracker.expense.model.CategorySummary(
+            nullif(r.category, ''), r.type, sum(r.total), sum(r.entryCount))
+        from ExpenseRollup r
+        where r.userId = :userId
+          and (:from is null or r.month >= :from)
+          and (:to is null or r.month <= :to)
+        group by r.category, r.type
+        having sum(r.entryCount) > 0
+        order by r.category, r.type
+        """)
+    List<CategorySummary> summarizeByCategory(
+        @Param("userId") Long userId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    @Query("""
+        select new de.felixalbert.expensetracker.expense.model.TypeSummary(
+            r.type, sum(r.total), sum(r.entryCount))
+        from ExpenseRollup r
+        where r.userId = :userId
+          and (:from is null or r.month >= :from)
+          and (:to is null or r.month <= :to)
+        group by r.type
+        having sum(r.entryCount) > 0
+        order by r.type
+        """)
+    List<TypeSummary> summarizeByType(
+        @Param("userId") Long userId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+}
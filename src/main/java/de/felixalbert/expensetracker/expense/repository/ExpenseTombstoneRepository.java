@@ -0,0 +1,28 @@
+package de.felixalbert.expensetracker.expense.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import de.felixalbert.expensetracker.expense.model.ExpenseTombstone;
+
+public interface ExpenseTombstoneRepository extends JpaRepository<ExpenseTombstone, Long> {
+
+    @Query("""
+        select t
+        from ExpenseTombstone t
+        where t.userId = :userId
+          and t.changeVersion > :since
+          and t.changeVersion <= :until
+        order by t.changeVersion
+        """)
+    List<ExpenseTombstone> findChanges(
+        @Param("userId") Long userId,
+        @Param("since") long since,
+        @Param("until") long until,
+        Limit limit
+    );
+}
@@ -0,0 +1,130 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader that parses one record at a time from a character stream.
+ * Quoted fields may contain commas, escaped quotes and line breaks. A record longer
+ * than {@code maxRecordLength} is skipped up to the next line break and returned
+ * without fields, so a broken quote cannot pull the rest of the input into memory.
+ */
+final class CsvRecordReader {
+
+    record CsvRecord(long line, List<String> fields, boolean tooLong) {}
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private long line = 1;
+    private int pushback = -2;
+
+    CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Returns the next non-empty record, or {@code null} at the end of the input.
+     */
+    CsvRecord next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                return null;
+            }
+            if (c == '\n') {
+                line++;
+                continue;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            unread(c);
+            return readRecord();
+        }
+    }
+
+    private CsvRecord readRecord() throws IOException {
+        long startLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+
+        while (true) {
+            int c = read();
+
+            if (++length > maxRecordLength) {
+                skipLine(c);
+                return new CsvRecord(startLine, List.of(), true);
+            }
+
+            if (quoted) {
+                if (c == EOF) {
+                    fields.add(field.toString());
+                    return new CsvRecord(startLine, fields, false);
+                }
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(n);
+                    }
+                    continue;
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+                continue;
+            }
+
+            if (c == EOF || c == '\n') {
+                fields.add(field.toString());
+                if (c == '\n') {
+                    line++;
+                }
+                return new CsvRecord(startLine, fields, false);
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private void skipLine(int c) throws IOException {
+        while (c != EOF && c != '\n') {
+            c = read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
@@ -0,0 +1,85 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import de.felixalbert.expensetracker.expense.exception.BatchTooLargeException;
+import de.felixalbert.expensetracker.expense.model.BatchCreateResult;
+import de.felixalbert.expensetracker.expense.model.BatchItemResult;
+import de.felixalbert.expensetracker.expense.model.Expense;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Validates a batch of expenses item by item and inserts all valid ones together.
+ * Invalid items are reported with their field errors instead of failing the whole batch.
+ */
+@Service
+public class ExpenseBatchService {
+
+    private final ExpenseService expenseService;
+    private final Validator validator;
+    private final int maxBatchSize;
+
+    public ExpenseBatchService(
+        ExpenseService expenseService,
+        Validator validator,
+        @Value("${expense.batch.max-size:500}") int maxBatchSize
+    ) {
+        this.expenseService = expenseService;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public BatchCreateResult createBatch(List<Expense> expenses, Long userId) {
+        if (expenses.size() > maxBatchSize) {
+            throw new BatchTooLargeException(expenses.size(), maxBatchSize);
+        }
+
+        BatchItemResult[] results = new BatchItemResult[expenses.size()];
+        List<Expense> valid = new ArrayList<>(expenses.size());
+        List<Integer> validIndexes = new ArrayList<>(expenses.size());
+
+        for (int i = 0; i < expenses.size(); i++) {
+            Expense expense = expenses.get(i);
+            // a JSON null in the array; the validator would throw on it
+            if (expense == null) {
+                results[i] = BatchItemResult.rejected(i, Map.of("expense", "Expense must not be null"));
+                continue;
+            }
+
+            Set<ConstraintViolation<Expense>> violations = validator.validate(expense);
+
+            if (violations.isEmpty()) {
+                valid.add(expense);
+                validIndexes.add(i);
+            } else {
+                results[i] = BatchItemResult.rejected(i, fieldErrors(violations));
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            List<Expense> saved = expenseService.createAll(valid, userId);
+            for (int i = 0; i < saved.size(); i++) {
+                int index = validIndexes.get(i);
+                results[index] = BatchItemResult.created(index, saved.get(i).getId());
+            }
+        }
+
+        return new BatchCreateResult(valid.size(), expenses.size() - valid.size(), List.of(results));
+    }
+
+    private static Map<String, String> fieldErrors(Set<ConstraintViolation<Expense>> violations) {
+        Map<String, String> fieldErrors = new HashMap<>();
+        violations.forEach(v ->
+            fieldErrors.put(v.getPropertyPath().toString(), v.getMessage())
+        );
+        return fieldErrors;
+    }
+}
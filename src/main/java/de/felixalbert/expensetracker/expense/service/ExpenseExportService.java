@@ -0,0 +1,101 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.model.ExportFormat;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams all expenses of a user row by row, so the heap use of an export
+ * does not depend on how many expenses the user has. Rows are read as
+ * {@link ExpenseView} projections and never enter the persistence context.
+ */
+@Service
+public class ExpenseExportService {
+
+    static final String CSV_HEADER = "id,date,amount,category,description,type";
+
+    private final ExpenseRepository expenseRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExpenseExportService(
+        ExpenseRepository expenseRepository,
+        ObjectMapper objectMapper
+    ) {
+        this.expenseRepository = expenseRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<ExpenseView> expenses = expenseRepository.streamViewsByUserId(userId)) {
+            Iterator<ExpenseView> it = expenses.iterator();
+            while (it.hasNext()) {
+                ExpenseView row = it.next();
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            }
+        }
+
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, ExpenseView row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(String.valueOf(row.date()));
+        writer.write(',');
+        writer.write(row.amount().toPlainString());
+        writer.write(',');
+        writeCsvValue(writer, row.category());
+        writer.write(',');
+        writeCsvValue(writer, row.description());
+        writer.write(',');
+        writer.write(row.type().name());
+        writer.write('\n');
+    }
+
+    static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        boolean needsQuotes = value.indexOf(',') >= 0
+            || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0
+            || value.indexOf('\r') >= 0;
+
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
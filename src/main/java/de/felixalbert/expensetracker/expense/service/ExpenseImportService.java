@@ -0,0 +1,225 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import de.felixalbert.expensetracker.expense.exception.InvalidImportFileException;
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ImportRejection;
+import de.felixalbert.expensetracker.expense.model.ImportResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports expenses from a CSV bank statement while reading it, so memory use does
+ * not depend on the size of the upload. Valid rows are inserted in chunks, each
+ * chunk in its own transaction; invalid rows are counted and reported by line.
+ *
+ * <p>The header must contain {@code date} and {@code amount}; {@code category},
+ * {@code description} and {@code type} are optional and other columns (like the
+ * {@code id} of our own export) are ignored. Without a type, the sign of the amount
+ * decides: negative amounts are expenses, positive ones income.
+ */
+@Service
+public class ExpenseImportService {
+
+    private static final int MAX_RECORD_LENGTH = 8192;
+
+    private final ExpenseService expenseService;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    public ExpenseImportService(
+        ExpenseService expenseService,
+        Validator validator,
+        @Value("${expense.import.chunk-size:500}") int chunkSize,
+        @Value("${expense.import.max-reported-rejections:100}") int maxReportedRejections
+    ) {
+        this.expenseService = expenseService;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    public ImportResult importCsv(InputStream in, Long userId) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        CsvRecordReader csv = new CsvRecordReader(reader, MAX_RECORD_LENGTH);
+
+        CsvRecordReader.CsvRecord header = csv.next();
+        if (header == null) {
+            throw new InvalidImportFileException("CSV file is empty");
+        }
+        Columns columns = Columns.of(header);
+
+        long imported = 0;
+        long rejected = 0;
+        List<ImportRejection> rejections = new ArrayList<>();
+        List<Expense> chunk = new ArrayList<>(chunkSize);
+
+        CsvRecordReader.CsvRecord record;
+        while ((record = csv.next()) != null) {
+            String error = record.tooLong()
+                ? "Line exceeds " + MAX_RECORD_LENGTH + " characters"
+                : null;
+            Expense expense = null;
+
+            if (error == null) {
+                try {
+                    expense = columns.toExpense(record.fields());
+                    error = validate(expense);
+                } catch (IllegalArgumentException ex) {
+                    error = ex.getMessage();
+                }
+            }
+
+            if (error != null) {
+                rejected++;
+                if (rejections.size() < maxReportedRejections) {
+                    rejections.add(new ImportRejection(record.line(), error));
+                }
+                continue;
+            }
+
+            chunk.add(expense);
+            if (chunk.size() == chunkSize) {
+                imported += flush(chunk, userId);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            imported += flush(chunk, userId);
+        }
+
+        return new ImportResult(imported, rejected, rejections);
+    }
+
+    private int flush(List<Expense> chunk, Long userId) {
+        expenseService.createAll(chunk, userId);
+        return chunk.size();
+    }
+
+    private String validate(Expense expense) {
+        Set<ConstraintViolation<Expense>> violations = validator.validate(expense);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private record Columns(int date, int amount, int category, int description, int type, int count) {
+
+        static Columns of(CsvRecordReader.CsvRecord header) {
+            Map<String, Integer> indexes = new HashMap<>();
+            List<String> names = header.fields();
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i).strip().toLowerCase(Locale.ROOT);
+                if (i == 0 && name.startsWith("\uFEFF")) {
+                    name = name.substring(1);
+                }
+                indexes.putIfAbsent(name, i);
+            }
+
+            if (!indexes.containsKey("date") || !indexes.containsKey("amount")) {
+                throw new InvalidImportFileException("CSV header must contain the columns 'date' and 'amount'");
+            }
+
+            return new Columns(
+                indexes.get("date"),
+                indexes.get("amount"),
+                indexes.getOrDefault("category", -1),
+                indexes.getOrDefault("description", -1),
+                indexes.getOrDefault("type", -1),
+                names.size()
+            );
+        }
+
+        Expense toExpense(List<String> fields) {
+            if (fields.size() != count) {
+                throw new IllegalArgumentException("Expected " + count + " columns but found " + fields.size());
+            }
+
+            LocalDate parsedDate = parseDate(fields.get(date));
+            BigDecimal parsedAmount = parseAmount(fields.get(amount));
+            ExpenseType parsedType = parseType(value(fields, type));
+
+            if (parsedType == null && parsedAmount != null) {
+                parsedType = parsedAmount.signum() < 0 ? ExpenseType.EXPENSE : ExpenseType.INCOME;
+                parsedAmount = parsedAmount.abs();
+            }
+
+            return new Expense(
+                parsedAmount,
+                value(fields, category),
+                parsedDate,
+                value(fields, description),
+                parsedType
+            );
+        }
+
+        private static String value(List<String> fields, int index) {
+            if (index < 0) {
+                return null;
+            }
+            String value = fields.get(index).strip();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static LocalDate parseDate(String raw) {
+            String value = raw.strip();
+            if (value.isEmpty()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid date '" + value + "', expected yyyy-MM-dd");
+            }
+        }
+
+        private static BigDecimal parseAmount(String raw) {
+            String value = raw.strip();
+            if (value.isEmpty()) {
+                return null;
+            }
+            try {
+                return new BigDecimal(value);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid amount '" + value + "'");
+            }
+        }
+
+        private static ExpenseType parseType(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return ExpenseType.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid type '" + value + "'");
+            }
+        }
+    }
+}
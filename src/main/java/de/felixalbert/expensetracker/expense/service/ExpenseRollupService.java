@@ -0,0 +1,173 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseRollup;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.model.RollupDrift;
+import de.felixalbert.expensetracker.expense.model.RollupTotal;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRollupRepository;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+
+/**
+ * Keeps the per-user monthly rollups in step with the expense table.
+ * The add/subtract methods must run inside the transaction of the expense mutation.
+ */
+@Service
+public class ExpenseRollupService {
+
+    private final ExpenseRollupRepository rollupRepository;
+    private final ExpenseRepository expenseRepository;
+    private final UserRepository userRepository;
+
+    public ExpenseRollupService(ExpenseRollupRepository rollupRepository,
+                                ExpenseRepository expenseRepository,
+                                UserRepository userRepository) {
+        this.rollupRepository = rollupRepository;
+        this.expenseRepository = expenseRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long userId, Expense expense) {
+        apply(userId, expense.getDate(), expense.getCategory(), expense.getType(), expense.getAmount(), 1);
+    }
+
+    // one statement per touched key instead of one per expense
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Long userId, List<Expense> expenses) {
+        Map<RollupKey, RollupTotal> deltas = new HashMap<>();
+        for (Expense expense : expenses) {
+            RollupKey key = new RollupKey(expense.getDate().withDayOfMonth(1), expense.getCategory(), expense.getType());
+            deltas.merge(
+                key,
+                new RollupTotal(key.month(), key.category(), key.type(), expense.getAmount(), 1),
+                (a, b) -> new RollupTotal(a.month(), a.category(), a.type(), a.total().add(b.total()), a.count() + b.count())
+            );
+        }
+
+        deltas.values().forEach(delta ->
+            apply(userId, delta.month(), delta.category(), delta.type(), delta.total(), delta.count())
+        );
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subtract(Long userId, ExpenseView expense) {
+        apply(userId, expense.date(), expense.category(), expense.type(), expense.amount().negate(), -1);
+    }
+
+    // an edit that keeps month, category and type only moves the amount of one rollup row
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Long userId, ExpenseView previous, Expense current) {
+        boolean sameKey = previous.date().withDayOfMonth(1).equals(current.getDate().withDayOfMonth(1))
+            && Objects.equals(previous.category(), current.getCategory())
+            && previous.type() == current.getType();
+
+        if (!sameKey) {
+            subtract(userId, previous);
+            add(userId, current);
+            return;
+        }
+
+        BigDecimal delta = current.getAmount().subtract(previous.amount());
+        if (delta.signum() != 0) {
+            apply(userId, current.getDate(), current.getCategory(), current.getType(), delta, 0);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, LocalDate date, String category, ExpenseType type, BigDecimal amount, long count) {
+        LocalDate month = date.withDayOfMonth(1);
+        String key = category != null ? category : ExpenseRollup.NO_CATEGORY;
+
+        int updated = rollupRepository.addToRollup(userId, month, key, type, amount, count);
+        if (updated == 0) {
+            rollupRepository.save(new ExpenseRollup(userId, month, key, type, amount, count));
+        }
+    }
+
+    /**
+     * Recomputes the rollups of a user from the raw expenses and returns every key whose stored
+     * sum or count differs. Missing rows on either side count as zero. Both sides are read
+     * from one snapshot, so a write committing in between is not reported as drift.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<RollupDrift> verify(Long userId) {
+        Map<RollupKey, RollupTotal> expected = byKey(expenseRepository.computeRollupTotals(userId));
+        Map<RollupKey, RollupTotal> actual = byKey(rollupRepository.findTotalsByUserId(userId));
+
+        List<RollupDrift> drift = new ArrayList<>();
+        for (RollupKey key : union(expected, actual)) {
+            RollupTotal want = expected.get(key);
+            RollupTotal have = actual.get(key);
+
+            BigDecimal expectedTotal = want != null ? want.total() : BigDecimal.ZERO;
+            long expectedCount = want != null ? want.count() : 0;
+            BigDecimal actualTotal = have != null ? have.total() : BigDecimal.ZERO;
+            long actualCount = have != null ? have.count() : 0;
+
+            if (expectedTotal.compareTo(actualTotal) != 0 || expectedCount != actualCount) {
+                drift.add(new RollupDrift(
+                    userId, key.month(), key.category(), key.type(),
+                    expectedTotal, expectedCount, actualTotal, actualCount
+                ));
+            }
+        }
+        return drift;
+    }
+
+    /**
+     * Replaces the rollups of a user with totals recomputed from the raw expenses. Holds the
+     * user's row lock like every expense mutation, so no write lands between the delete and
+     * the reinsert.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        if (userRepository.incrementDataVersion(userId, 0).isEmpty()) {
+            return;
+        }
+
+        rollupRepository.deleteAllByUserId(userId);
+        rollupRepository.flush();
+
+        List<ExpenseRollup> rollups = expenseRepository.computeRollupTotals(userId).stream()
+            .map(total -> new ExpenseRollup(
+                userId, total.month(), total.category(), total.type(), total.total(), total.count()))
+            .toList();
+        rollupRepository.saveAll(rollups);
+    }
+
+    private static Map<RollupKey, RollupTotal> byKey(List<RollupTotal> totals) {
+        Map<RollupKey, RollupTotal> map = new HashMap<>();
+        for (RollupTotal total : totals) {
+            map.put(new RollupKey(total.month(), total.category(), total.type()), total);
+        }
+        return map;
+    }
+
+    private static List<RollupKey> union(Map<RollupKey, RollupTotal> a, Map<RollupKey, RollupTotal> b) {
+        List<RollupKey> keys = new ArrayList<>(a.keySet());
+        for (RollupKey key : b.keySet()) {
+            if (!a.containsKey(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private record RollupKey(LocalDate month, String category, ExpenseType type) {}
+}
@@ -0,0 +1,58 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import de.felixalbert.expensetracker.expense.model.RollupDrift;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+
+/**
+ * Periodically compares the rollup table against the raw expenses of every user.
+ * Drift is logged; with {@code expense.rollup.verify.repair=true} the affected users are rebuilt.
+ */
+@Component
+public class ExpenseRollupVerificationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseRollupVerificationJob.class);
+
+    private final ExpenseRollupService rollupService;
+    private final UserRepository userRepository;
+    private final boolean repair;
+
+    public ExpenseRollupVerificationJob(
+        ExpenseRollupService rollupService,
+        UserRepository userRepository,
+        @Value("${expense.rollup.verify.repair:false}") boolean repair
+    ) {
+        this.rollupService = rollupService;
+        this.userRepository = userRepository;
+        this.repair = repair;
+    }
+
+    @Scheduled(cron = "${expense.rollup.verify.cron:-}")
+    public void run() {
+        int driftedUsers = 0;
+
+        for (Long userId : userRepository.findAllIds()) {
+            List<RollupDrift> drift = rollupService.verify(userId);
+            if (drift.isEmpty()) {
+                continue;
+            }
+
+            driftedUsers++;
+            drift.forEach(d -> log.warn("Rollup drift: {}", d));
+
+            if (repair) {
+                rollupService.rebuild(userId);
+                log.info("Rebuilt rollups of user {}", userId);
+            }
+        }
+
+        log.info("Rollup verification finished, {} user(s) with drift", driftedUsers);
+    }
+}
@@ -2,58 +2,146 @@ package de.felixalbert.expensetracker.expense.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import de.felixalbert.expensetracker.expense.exception.ExpenseNotFoundException;
 import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseCursor;
+import de.felixalbert.expensetracker.expense.model.ExpenseFilter;
+import de.felixalbert.expensetracker.expense.model.ExpensePage;
+import de.felixalbert.expensetracker.expense.model.ExpenseTombstone;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
 import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import de.felixalbert.expensetracker.expense.repository.ExpenseTombstoneRepository;
 import de.felixalbert.expensetracker.user.exception.UserNotFoundException;
 import de.felixalbert.expensetracker.user.model.User;
 import de.felixalbert.expensetracker.user.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "expense.service", histogram = true)
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
+    private final ExpenseRollupService rollupService;
+    private final ExpenseTombstoneRepository tombstoneRepository;
 
-    public ExpenseService(ExpenseRepository expenseRepository, UserRepository userRepository) {
+    public ExpenseService(ExpenseRepository expenseRepository,
+                          UserRepository userRepository,
+                          ExpenseRollupService rollupService,
+                          ExpenseTombstoneRepository tombstoneRepository) {
         this.expenseRepository = expenseRepository;
         this.userRepository = userRepository;
+        this.rollupService = rollupService;
+        this.tombstoneRepository = tombstoneRepository;
     }
 
-    public Expense getById(Long id, Long userId){
+    @Transactional(readOnly = true)
+    public long getDataVersion(Long userId) {
+        return userRepository.findDataVersionById(userId)
+            .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public ExpenseView getViewById(Long id, Long userId) {
         return expenseRepository
-            .findByIdAndUserId(id, userId)
+            .findViewByIdAndUserId(id, userId)
             .orElseThrow(() -> new ExpenseNotFoundException(id));
     }
 
-    public List<Expense> getAll(Long userId) {
-        return expenseRepository.findAllByUserId(userId);
+    @Transactional(readOnly = true)
+    public ExpensePage getPage(Long userId, ExpenseFilter filter, String cursor, int limit) {
+        ExpenseCursor after = cursor != null ? ExpenseCursor.decode(cursor) : null;
+
+        // fetch one extra row to find out whether another page follows
+        List<ExpenseView> rows = expenseRepository.findPage(
+            userId,
+            filter.from(),
+            filter.to(),
+            filter.category(),
+            filter.type(),
+            after != null ? after.date() : null,
+            after != null ? after.id() : null,
+            Limit.of(limit + 1)
+        );
+
+        if (rows.size() <= limit) {
+            return new ExpensePage(rows, null);
+        }
+
+        List<ExpenseView> items = rows.subList(0, limit);
+        String nextCursor = ExpenseCursor.of(items.get(limit - 1)).encode();
+        return new ExpensePage(items, nextCursor);
     }
 
+    @Transactional
     public Expense create(Expense expense, Long userId) {
-        User user = userRepository.findById(userId)
+        long version = userRepository.incrementDataVersion(userId, 1)
             .orElseThrow(() -> new UserNotFoundException(userId));
 
-        expense.setUser(user);
-        return expenseRepository.save(expense);
+        // the version update proved that the user exists, a reference is enough for the foreign key
+        expense.setUser(userRepository.getReferenceById(userId));
+        expense.setChangeVersion(version);
+        Expense saved = expenseRepository.save(expense);
+        rollupService.add(userId, saved);
+        return saved;
+    }
+
+    // all expenses are inserted in one transaction; the pooled sequence lets Hibernate batch the inserts
+    @Transactional
+    public List<Expense> createAll(List<Expense> expenses, Long userId) {
+        // every expense gets its own version, so sync can page through a large batch
+        long version = userRepository.incrementDataVersion(userId, expenses.size())
+            .orElseThrow(() -> new UserNotFoundException(userId)) - expenses.size();
+
+        User user = userRepository.getReferenceById(userId);
+        for (Expense expense : expenses) {
+            expense.setUser(user);
+            expense.setChangeVersion(++version);
+        }
+
+        List<Expense> saved = expenseRepository.saveAll(expenses);
+        rollupService.addAll(userId, saved);
+        return saved;
     }
 
+    /*
+     * update and deleteById take the user's version first and then touch the expense
+     * with one ownership-checked statement. The version lock serializes all writes of
+     * the user; if the expense is not found, the exception rolls the version back.
+     */
+
+    @Transactional
     public void deleteById(Long id, Long userId) {
-        Expense existing = getById(id, userId);
-        expenseRepository.delete(existing);
+        long version = userRepository.incrementDataVersion(userId, 1)
+            .orElseThrow(() -> new ExpenseNotFoundException(id));
+
+        ExpenseView deleted = expenseRepository.deleteOwned(id, userId)
+            .orElseThrow(() -> new ExpenseNotFoundException(id));
+
+        tombstoneRepository.save(new ExpenseTombstone(userId, id, version));
+        rollupService.subtract(userId, deleted);
     }
 
-    public Expense update(Long id, Long userId, Expense updatedExpense) {
-        Expense expense = getById(id, userId);
+    @Transactional
+    public ExpenseView update(Long id, Long userId, Expense updatedExpense) {
+        long version = userRepository.incrementDataVersion(userId, 1)
+            .orElseThrow(() -> new ExpenseNotFoundException(id));
 
-        expense.setAmount(updatedExpense.getAmount());
-        expense.setCategory(updatedExpense.getCategory());
-        expense.setDate(updatedExpense.getDate());
-        expense.setDescription(updatedExpense.getDescription());
-        expense.setType(updatedExpense.getType());
+        ExpenseView previous = expenseRepository.updateOwned(id, userId, updatedExpense, version)
+            .orElseThrow(() -> new ExpenseNotFoundException(id));
 
-    return expenseRepository.save(expense);
+        rollupService.replace(userId, previous, updatedExpense);
+        return new ExpenseView(
+            id,
+            updatedExpense.getAmount(),
+            updatedExpense.getCategory(),
+            updatedExpense.getDate(),
+            updatedExpense.getDescription(),
+            updatedExpense.getType()
+        );
+    }
 }
-}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.felixalbert.expensetracker.expense.model.CategorySummary;
+import de.felixalbert.expensetracker.expense.model.MonthlySummary;
+import de.felixalbert.expensetracker.expense.model.TypeSummary;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRollupRepository;
+
+/**
+ * Aggregated views of a user's expenses, read from the monthly rollup table so the cost
+ * depends on the number of months and categories, not on the number of expenses.
+ * Month bounds are inclusive and optional.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExpenseSummaryService {
+
+    private final ExpenseRollupRepository rollupRepository;
+
+    public ExpenseSummaryService(ExpenseRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    public List<MonthlySummary> getMonthly(Long userId, YearMonth from, YearMonth to) {
+        return rollupRepository.summarizeByMonth(userId, monthStart(from), monthStart(to));
+    }
+
+    public List<CategorySummary> getByCategory(Long userId, YearMonth from, YearMonth to) {
+        return rollupRepository.summarizeByCategory(userId, monthStart(from), monthStart(to));
+    }
+
+    public List<TypeSummary> getTotals(Long userId, YearMonth from, YearMonth to) {
+        return rollupRepository.summarizeByType(userId, monthStart(from), monthStart(to));
+    }
+
+    private static LocalDate monthStart(YearMonth month) {
+        return month != null ? month.atDay(1) : null;
+    }
+}
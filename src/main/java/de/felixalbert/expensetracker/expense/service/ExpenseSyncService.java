@@ -0,0 +1,78 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.felixalbert.expensetracker.expense.model.ExpenseChange;
+import de.felixalbert.expensetracker.expense.model.ExpenseChanges;
+import de.felixalbert.expensetracker.expense.model.ExpenseTombstone;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import de.felixalbert.expensetracker.expense.repository.ExpenseTombstoneRepository;
+
+/**
+ * Delta sync: returns what changed after a cursor, where the cursor is a value of the
+ * user's data version. Every write gets its own version, so created/updated expenses
+ * and tombstones of deleted ones can be merged into one ordered change feed and the
+ * work per call depends on the number of changes, not on the size of the history.
+ * Expenses from before change versions existed rely on the migration backfill; a row
+ * left at version 0 is never part of the feed.
+ */
+@Service
+public class ExpenseSyncService {
+
+    private final ExpenseService expenseService;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseTombstoneRepository tombstoneRepository;
+
+    public ExpenseSyncService(
+        ExpenseService expenseService,
+        ExpenseRepository expenseRepository,
+        ExpenseTombstoneRepository tombstoneRepository
+    ) {
+        this.expenseService = expenseService;
+        this.expenseRepository = expenseRepository;
+        this.tombstoneRepository = tombstoneRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ExpenseChanges getChanges(Long userId, long since, int limit) {
+        // changes are read up to the version seen now, writes committing meanwhile go to the next call
+        long until = expenseService.getDataVersion(userId);
+
+        List<ExpenseChange> upserts = expenseRepository.findChanges(userId, since, until, Limit.of(limit));
+        List<ExpenseTombstone> tombstones = tombstoneRepository.findChanges(userId, since, until, Limit.of(limit));
+
+        List<ExpenseView> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long cursor = since;
+        int u = 0;
+        int t = 0;
+
+        // merge both feeds by version and keep the first `limit` changes
+        while (upserted.size() + deleted.size() < limit && (u < upserts.size() || t < tombstones.size())) {
+            boolean takeUpsert = t == tombstones.size()
+                || (u < upserts.size() && upserts.get(u).changeVersion() < tombstones.get(t).getChangeVersion());
+
+            if (takeUpsert) {
+                ExpenseChange change = upserts.get(u++);
+                upserted.add(change.expense());
+                cursor = change.changeVersion();
+            } else {
+                ExpenseTombstone tombstone = tombstones.get(t++);
+                deleted.add(tombstone.getExpenseId());
+                cursor = tombstone.getChangeVersion();
+            }
+        }
+
+        if (upserted.size() + deleted.size() < limit) {
+            // both feeds are exhausted up to `until`
+            return new ExpenseChanges(upserted, deleted, until, false);
+        }
+        return new ExpenseChanges(upserted, deleted, cursor, cursor < until);
+    }
+}
@@ -1,20 +1,34 @@
 package de.felixalbert.expensetracker.security.component;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
-import de.felixalbert.expensetracker.common.exception.ApiError;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import tools.jackson.databind.ObjectMapper;
+import tools.jackson.core.io.JsonStringEncoder;
 
+/**
+ * Writes the 401 {@code ApiError} body. Most of it never changes, so it is encoded
+ * once; per request only the timestamp and the (escaped) path are written in between.
+ * The output is byte-for-byte what Jackson produces for the same {@code ApiError}.
+ */
 @Component
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
+    public static final String AUTH_ERROR_ATTRIBUTE = "auth_error";
+    public static final String TOKEN_EXPIRED = "TOKEN_EXPIRED";
+
+    private static final byte[] BODY_START = ascii("{\"timestamp\":\"");
+    private static final byte[] EXPIRED_MIDDLE = errorFields(TOKEN_EXPIRED, "Session expired. Please log in again.");
+    private static final byte[] UNAUTHORIZED_MIDDLE = errorFields("UNAUTHORIZED", "Authentication required");
+    private static final byte[] BODY_END = ascii(",\"fieldErrors\":null}");
+
     @Override
     public void commence(
         HttpServletRequest request,
@@ -26,33 +40,26 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        String errorType = (String) request.getAttribute("auth_error");
-
-        ApiError error;
-
-        if ("TOKEN_EXPIRED".equals(errorType)) {
-            error = new ApiError(
-                Instant.now(),
-                401,
-                "TOKEN_EXPIRED",
-                "Session expired. Please log in again.",
-                request.getRequestURI(),
-                null
-            );
-        } else {
-            error = new ApiError(
-                Instant.now(),
-                401,
-                "UNAUTHORIZED",
-                "Authentication required",
-                request.getRequestURI(),
-                null
-            );
-        }
-
-        response.getWriter().write(
-            new ObjectMapper().writeValueAsString(error)
-        );
-        response.getWriter().flush();
+        byte[] middle = TOKEN_EXPIRED.equals(request.getAttribute(AUTH_ERROR_ATTRIBUTE))
+            ? EXPIRED_MIDDLE
+            : UNAUTHORIZED_MIDDLE;
+
+        OutputStream out = response.getOutputStream();
+        out.write(BODY_START);
+        out.write(ascii(Instant.now().toString()));
+        out.write(middle);
+        out.write('"');
+        out.write(JsonStringEncoder.getInstance().quoteAsUTF8(request.getRequestURI()));
+        out.write('"');
+        out.write(BODY_END);
+        out.flush();
+    }
+
+    private static byte[] errorFields(String error, String message) {
+        return ascii("\",\"status\":401,\"error\":\"" + error + "\",\"message\":\"" + message + "\",\"path\":");
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
     }
-} 
\ No newline at end of file
+}
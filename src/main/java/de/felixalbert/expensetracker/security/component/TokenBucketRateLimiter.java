@@ -0,0 +1,51 @@
+package de.felixalbert.expensetracker.security.component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token bucket per key, kept as a single "theoretical arrival time" (GCRA): admitting a
+ * request is one compare-and-set on that value, without locks. Buckets of keys that
+ * stayed idle long enough to refill completely are evicted, and the number of buckets
+ * is bounded, so memory stays flat under a flood of distinct keys.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(int burst, int permitsPerMinute, long maxKeys) {
+        this.intervalNanos = Duration.ofMinutes(1).toNanos() / permitsPerMinute;
+        this.burstNanos = intervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(Duration.ofNanos(burstNanos))
+            .build();
+    }
+
+    /**
+     * Takes one token for the key.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package de.felixalbert.expensetracker.security.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import de.felixalbert.expensetracker.security.component.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 
 
 @Configuration
 public class PasswordConfig {
 
+    // BCrypt runs on its own bounded pool, off the request threads
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+        @Value("${auth.password-hashing.threads:2}") int threads,
+        @Value("${auth.password-hashing.queue-capacity:32}") int queueCapacity,
+        @Value("${auth.password-hashing.retry-after:1s}") Duration retryAfter,
+        MeterRegistry meterRegistry
+    ) {
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(), threads, queueCapacity, retryAfter, meterRegistry
+        );
     }
 
 }
@@ -1,7 +1,9 @@
 package de.felixalbert.expensetracker.security.config;
 
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -10,6 +12,7 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import de.felixalbert.expensetracker.security.filter.AuthRateLimitFilter;
 import de.felixalbert.expensetracker.security.filter.JwtAuthenticationFilter;
  
 @Configuration
@@ -17,13 +20,38 @@ import de.felixalbert.expensetracker.security.filter.JwtAuthenticationFilter;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final AuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, AuthenticationEntryPoint jwtAuthenticationEntryPoint) {
+    public SecurityConfig(
+        JwtAuthenticationFilter jwtAuthFilter,
+        AuthRateLimitFilter authRateLimitFilter,
+        AuthenticationEntryPoint jwtAuthenticationEntryPoint
+    ) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.authRateLimitFilter = authRateLimitFilter;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
     }
 
+    /*
+     * Health and Prometheus scrapes without a token, but only on management.server.port:
+     * with a separate management port EndpointRequest matches requests of the management
+     * server alone, so the API port neither serves nor permits actuator endpoints.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.to("health", "prometheus"))
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session ->
+                session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -46,6 +74,11 @@ public class SecurityConfig {
             .addFilterBefore(
                 jwtAuthFilter,
                 UsernamePasswordAuthenticationFilter.class
+            )
+            // rejects floods before they reach token parsing or password hashing
+            .addFilterBefore(
+                authRateLimitFilter,
+                JwtAuthenticationFilter.class
             );
 
         return http.build();
@@ -1,6 +1,7 @@
 package de.felixalbert.expensetracker.security.controller;
 
 import java.time.Duration;
+import java.util.Optional;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -12,20 +13,24 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import de.felixalbert.expensetracker.security.exception.InvalidRefreshTokenException;
 import de.felixalbert.expensetracker.security.model.AuthResponse;
 import de.felixalbert.expensetracker.security.model.CustomUserDetails;
+import de.felixalbert.expensetracker.security.model.IssuedRefreshToken;
+import de.felixalbert.expensetracker.security.model.JwtClaims;
 import de.felixalbert.expensetracker.security.model.LoginRequest;
-import de.felixalbert.expensetracker.security.model.RefreshToken;
 import de.felixalbert.expensetracker.security.model.RegisterRequest;
 import de.felixalbert.expensetracker.security.model.RegisterResponse;
 import de.felixalbert.expensetracker.security.service.JwtService;
 import de.felixalbert.expensetracker.security.service.RefreshTokenService;
+import de.felixalbert.expensetracker.security.service.TokenRevocationService;
 import de.felixalbert.expensetracker.user.model.User;
 import de.felixalbert.expensetracker.user.service.UserService;
+import io.jsonwebtoken.JwtException;
 
 @RestController
 @RequestMapping("/auth")
@@ -35,17 +40,20 @@ public class AuthController {
     private final JwtService jwtService;
     private final UserService userService;
     private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthController(
         AuthenticationManager authenticationManager,
         JwtService jwtService,
         UserService userService,
-        RefreshTokenService refreshTokenService
+        RefreshTokenService refreshTokenService,
+        TokenRevocationService tokenRevocationService
     ) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userService = userService;
         this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/register")
@@ -78,12 +86,12 @@ public class AuthController {
 
         String accessToken = jwtService.generateToken(user);
 
-        RefreshToken refreshToken =
+        IssuedRefreshToken refreshToken =
             refreshTokenService.create(user);
 
         ResponseCookie cookie = ResponseCookie.from(
                 "refreshToken",
-                refreshToken.getToken()
+                refreshToken.token()
             )
             .httpOnly(true)
             .secure(true) 
@@ -105,15 +113,13 @@ public class AuthController {
             throw new InvalidRefreshTokenException();
         }
 
-        RefreshToken token = refreshTokenService.validate(refreshToken);
+        IssuedRefreshToken newRefreshToken = refreshTokenService.rotate(refreshToken);
 
-        User user = token.getUser();
-
-        String newAccessToken = jwtService.generateToken(user);
-
-        RefreshToken newRefreshToken = refreshTokenService.rotate(token);
+        String newAccessToken = jwtService.generateToken(
+            new CustomUserDetails(newRefreshToken.userId(), newRefreshToken.email())
+        );
 
-        ResponseCookie cookie = ResponseCookie.from("refreshToken", newRefreshToken.getToken())
+        ResponseCookie cookie = ResponseCookie.from("refreshToken", newRefreshToken.token())
             .httpOnly(true)
             .secure(true)
             .sameSite("Strict")
@@ -128,10 +134,20 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(
-        @CookieValue(name = "refreshToken", required = false) String refreshToken
+        @CookieValue(name = "refreshToken", required = false) String refreshToken,
+        @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization
     ) {
-        if (refreshToken != null) {
-            refreshTokenService.revokeByToken(refreshToken);
+        // access tokens are not checked against the database, so revoke them explicitly:
+        // the presented one by its jti, otherwise all of the refresh token's user
+        JwtClaims accessToken = accessTokenClaims(authorization);
+        Optional<Long> userId = refreshToken != null
+            ? refreshTokenService.revokeByToken(refreshToken)
+            : Optional.empty();
+
+        if (accessToken != null && accessToken.tokenId() != null) {
+            tokenRevocationService.revoke(accessToken);
+        } else {
+            userId.ifPresent(tokenRevocationService::revokeAllFor);
         }
 
         ResponseCookie deleteCookie = ResponseCookie.from(
@@ -148,4 +164,15 @@ public class AuthController {
             .header(HttpHeaders.SET_COOKIE, deleteCookie.toString())
             .build();
     }
+
+    private JwtClaims accessTokenClaims(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtService.validate(authorization.substring(7));
+        } catch (JwtException e) {
+            return null; // expired or invalid tokens need no revocation
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package de.felixalbert.expensetracker.security.exception;
+
+import java.time.Duration;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingOverloadedException(Duration retryAfter) {
+        super("Too many concurrent logins, please retry shortly.");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,165 @@
+package de.felixalbert.expensetracker.security.filter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import de.felixalbert.expensetracker.security.component.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.core.io.JsonStringEncoder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Throttles {@code /auth/**} before any token parsing, password hashing or database
+ * work: every request takes a token from the bucket of its client IP, and login and
+ * register additionally from the bucket of the email in the body. A rejected request
+ * costs a map lookup and gets 429 with Retry-After; its {@code ApiError} body is encoded
+ * once, like the 401 of {@code JwtAuthenticationEntryPoint}. Behind a proxy the client
+ * IP is only the remote address with {@code server.forward-headers-strategy=native}, as
+ * in the prod profile; otherwise all clients share the proxy's bucket.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] BODY_START = ascii("{\"timestamp\":\"");
+    private static final byte[] BODY_MIDDLE = ascii("\",\"status\":429,\"error\":\"TOO_MANY_REQUESTS\","
+        + "\"message\":\"Too many attempts, please retry later.\",\"path\":");
+    private static final byte[] BODY_END = ascii(",\"fieldErrors\":null}");
+
+    private static final Set<String> EMAIL_KEYED_PATHS = Set.of("/auth/login", "/auth/register");
+
+    // login and register bodies are tiny; anything larger is passed on without an email key
+    private static final int MAX_INSPECTED_BODY = 4096;
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    public AuthRateLimitFilter(
+        @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+        @Value("${auth.rate-limit.ip.burst:20}") int ipBurst,
+        @Value("${auth.rate-limit.ip.per-minute:30}") int ipPerMinute,
+        @Value("${auth.rate-limit.email.burst:5}") int emailBurst,
+        @Value("${auth.rate-limit.email.per-minute:5}") int emailPerMinute,
+        @Value("${auth.rate-limit.max-keys:100000}") long maxKeys,
+        ObjectProvider<MeterRegistry> meterRegistry,
+        ObjectMapper objectMapper
+    ) {
+        this.enabled = enabled;
+        this.ipLimiter = new TokenBucketRateLimiter(
+            positive("auth.rate-limit.ip.burst", ipBurst),
+            positive("auth.rate-limit.ip.per-minute", ipPerMinute),
+            maxKeys
+        );
+        this.emailLimiter = new TokenBucketRateLimiter(
+            positive("auth.rate-limit.email.burst", emailBurst),
+            positive("auth.rate-limit.email.per-minute", emailPerMinute),
+            maxKeys
+        );
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    // a zero rate would divide by zero in the limiter, a zero burst would reject everything
+    private static int positive(String property, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(property + " must be greater than 0, but was " + value);
+        }
+        return value;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long wait = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(request, response, "ip", wait);
+            return;
+        }
+
+        if ("POST".equals(request.getMethod()) && EMAIL_KEYED_PATHS.contains(request.getRequestURI())) {
+            byte[] head = request.getInputStream().readNBytes(MAX_INSPECTED_BODY + 1);
+            request = new CachedBodyRequest(request, head);
+
+            String email = head.length <= MAX_INSPECTED_BODY ? emailOf(head) : null;
+            wait = email != null ? emailLimiter.tryAcquire(email) : 0;
+            if (wait > 0) {
+                reject(request, response, "email", wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String emailOf(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isString()
+                ? email.stringValue().trim().toLowerCase(Locale.ROOT)
+                : null;
+        } catch (RuntimeException e) {
+            // malformed bodies are rejected by the controller, only the IP bucket applies
+            return null;
+        }
+    }
+
+    private void reject(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        String key,
+        long waitNanos
+    ) throws IOException {
+        meterRegistry.ifAvailable(registry ->
+            registry.counter("auth.rate_limit.rejected", "key", key).increment());
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        OutputStream out = response.getOutputStream();
+        out.write(BODY_START);
+        out.write(ascii(Instant.now().toString()));
+        out.write(BODY_MIDDLE);
+        out.write('"');
+        out.write(JsonStringEncoder.getInstance().quoteAsUTF8(request.getRequestURI()));
+        out.write('"');
+        out.write(BODY_END);
+        out.flush();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,80 @@
+package de.felixalbert.expensetracker.security.filter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+// replays the already read start of the body, followed by whatever was not read yet
+class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] head;
+
+    CachedBodyRequest(HttpServletRequest request, byte[] head) {
+        super(request);
+        this.head = head;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        InputStream body = new SequenceInputStream(
+            new ByteArrayInputStream(head), super.getInputStream()
+        );
+
+        return new ServletInputStream() {
+            private boolean finished;
+
+            @Override
+            public int read() throws IOException {
+                return track(body.read());
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return track(body.read(b, off, len));
+            }
+
+            private int track(int result) {
+                finished = result == -1;
+                return result;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return finished;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            // isReady() is always true, so the listener reads the whole body in onDataAvailable
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                try {
+                    readListener.onDataAvailable();
+                    readListener.onAllDataRead();
+                } catch (IOException e) {
+                    readListener.onError(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+}
@@ -1,8 +1,12 @@
 package de.felixalbert.expensetracker.security.filter;
 
 import java.io.IOException;
+import java.util.List;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,8 +14,16 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import de.felixalbert.expensetracker.security.component.JwtAuthenticationEntryPoint;
+import de.felixalbert.expensetracker.security.model.CustomUserDetails;
+import de.felixalbert.expensetracker.security.model.JwtClaims;
 import de.felixalbert.expensetracker.security.service.JwtService;
+import de.felixalbert.expensetracker.security.service.TokenRevocationService;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,12 +34,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean stateless;
+    private final Counter validTokens;
+    private final Counter expiredTokens;
+    private final Counter invalidTokens;
+    private final Counter revokedTokens;
 
     public JwtAuthenticationFilter(
             JwtService jwtService,
-            UserDetailsService userDetailsService) {
+            UserDetailsService userDetailsService,
+            TokenRevocationService tokenRevocationService,
+            @Value("${auth.stateless:false}") boolean stateless,
+            ObjectProvider<MeterRegistry> meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.stateless = stateless;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.validTokens = validations(registry, "valid");
+        this.expiredTokens = validations(registry, "expired");
+        this.invalidTokens = validations(registry, "invalid");
+        this.revokedTokens = validations(registry, "revoked");
+    }
+
+    private static Counter validations(MeterRegistry registry, String result) {
+        return Counter.builder("auth.jwt.validations")
+            .description("Bearer tokens seen by the JWT filter, by outcome")
+            .tag("result", result)
+            .register(registry);
     }
 
     @Override
@@ -45,20 +81,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // 2. Expired tokens are the common rejection: detect them without an exception
+        String token = authHeader.substring(7);
+        if (jwtService.isExpired(token)) {
+            rejectAsExpired(request, response, filterChain);
+            return;
+        }
+
+        // 3. Verify signature and expiry once, the claims are reused below
+        JwtClaims claims;
         try {
+            claims = jwtService.validate(token);
+        } catch (ExpiredJwtException ex) {
+            // expired between the check above and now
+            rejectAsExpired(request, response, filterChain);
+            return;
+        } catch (JwtException ex) {
+            // continue unauthenticated, the entry point answers 401 where authentication is required
+            invalidTokens.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        // 2. Extract token
-        String token = authHeader.substring(7);
-        String username = jwtService.extractUsername(token);
+        boolean revoked = tokenRevocationService.isRevoked(claims);
+        (revoked ? revokedTokens : validTokens).increment();
 
-        // 3. Not yet authenticated?
-        if (username != null &&
+        // 4. Not revoked and not yet authenticated?
+        if (claims.username() != null &&
+            !revoked &&
             SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = loadUser(claims);
 
-            // 4. Validate Token
-            if (jwtService.isTokenValid(token, userDetails)) {
+            // 5. Token belongs to the loaded user
+            if (claims.username().equals(userDetails.getUsername())) {
 
                 UsernamePasswordAuthenticationToken authToken =
                 new UsernamePasswordAuthenticationToken(
@@ -72,18 +128,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                 .buildDetails(request)
                 );
 
-                // 5. Set Authentication
+                // 6. Set Authentication
                 SecurityContextHolder.getContext()
                         .setAuthentication(authToken);
             }
         }
-        } catch (ExpiredJwtException ex) {
-            request.setAttribute("auth_error", "TOKEN_EXPIRED");
-            throw ex;
-        }
-        
 
-        // 6. Continue with next filter
+        // 7. Continue with next filter
+        filterChain.doFilter(request, response);
+    }
+
+    private void rejectAsExpired(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        expiredTokens.increment();
+        request.setAttribute(JwtAuthenticationEntryPoint.AUTH_ERROR_ATTRIBUTE, JwtAuthenticationEntryPoint.TOKEN_EXPIRED);
         filterChain.doFilter(request, response);
     }
+
+    // stateless mode trusts the verified claims; older tokens without a user id still go to the database
+    private UserDetails loadUser(JwtClaims claims) {
+        if (stateless && claims.userId() != null) {
+            List<SimpleGrantedAuthority> authorities = claims.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+            return new CustomUserDetails(claims.userId(), claims.username(), authorities);
+        }
+        return userDetailsService.loadUserByUsername(claims.username());
+    }
 }
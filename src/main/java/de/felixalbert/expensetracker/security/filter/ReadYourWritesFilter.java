@@ -0,0 +1,121 @@
+package de.felixalbert.expensetracker.security.filter;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import de.felixalbert.expensetracker.common.persistence.ReadRouting;
+import de.felixalbert.expensetracker.common.persistence.ReadYourWritesTracker;
+import de.felixalbert.expensetracker.security.model.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a user's reads on the primary while the replica may still lack their writes:
+ * mutating requests run entirely on the primary and mark the user as a recent writer,
+ * and that user's reads stay on the primary for the read-your-writes window. Runs after
+ * the security filter chain, so the principal is known.
+ *
+ * <p>The mark is a {@value #COOKIE} cookie holding the time of the write, so it reaches
+ * whichever instance serves the next read. Clients that drop the cookie only get
+ * read-your-writes from the instance that handled their write, through the
+ * {@link ReadYourWritesTracker}. A client can send the cookie without writing; that only
+ * moves its own reads to the primary.
+ */
+@Component
+@ConditionalOnProperty("datasource.replica.url")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "lastWrite";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        boolean mutating = !SAFE_METHODS.contains(request.getMethod());
+        Long userId = currentUserId();
+
+        if (!mutating && (userId == null || !recentlyWrote(request, userId))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // set before the chain runs, the response may be committed afterwards
+        if (mutating && userId != null) {
+            response.addHeader(HttpHeaders.SET_COOKIE, lastWriteCookie(System.currentTimeMillis()).toString());
+        }
+
+        try (ReadRouting.Scope scope = ReadRouting.primary()) {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (mutating && userId != null) {
+                tracker.markWritten(userId);
+            }
+        }
+    }
+
+    private boolean recentlyWrote(HttpServletRequest request, Long userId) {
+        return tracker.recentlyWrote(userId) || withinWindow(lastWrite(request));
+    }
+
+    // allows for the same clock skew in both directions between instances
+    private boolean withinWindow(long lastWrite) {
+        return lastWrite > 0 && Math.abs(System.currentTimeMillis() - lastWrite) < tracker.window().toMillis();
+    }
+
+    private static long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private ResponseCookie lastWriteCookie(long now) {
+        return ResponseCookie.from(COOKIE, Long.toString(now))
+            .httpOnly(true)
+            .secure(true)
+            .sameSite("Strict")
+            .path("/api")
+            .maxAge(tracker.window())
+            .build();
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
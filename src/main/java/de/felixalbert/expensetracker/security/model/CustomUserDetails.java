@@ -11,6 +11,10 @@ import de.felixalbert.expensetracker.user.model.User;
 
 public class CustomUserDetails implements UserDetails {
 
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(
+        new SimpleGrantedAuthority("ROLE_USER")
+    );
+
     private final Long id;
     private final String username;
     private final String password;
@@ -20,9 +24,20 @@ public class CustomUserDetails implements UserDetails {
         this.id = user.getId();
         this.username = user.getEmail();
         this.password = user.getPasswordHash();
-        this.authorities = List.of(
-            new SimpleGrantedAuthority("ROLE_USER")
-        );
+        this.authorities = USER_AUTHORITIES;
+    }
+
+    // a known user without a password, e.g. the owner of a rotated refresh token
+    public CustomUserDetails(Long id, String username) {
+        this(id, username, USER_AUTHORITIES);
+    }
+
+    // built from verified token claims in stateless mode; there is no password to carry
+    public CustomUserDetails(Long id, String username, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.authorities = authorities;
     }
 
     public Long getId() {
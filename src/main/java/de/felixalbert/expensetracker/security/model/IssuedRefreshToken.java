@@ -0,0 +1,8 @@
+package de.felixalbert.expensetracker.security.model;
+
+// the raw token value for the cookie, with the user it was issued to
+public record IssuedRefreshToken(
+    String token,
+    Long userId,
+    String email
+) {}
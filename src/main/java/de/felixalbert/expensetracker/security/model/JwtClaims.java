@@ -0,0 +1,18 @@
+package de.felixalbert.expensetracker.security.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of an access token whose signature and expiry have already been checked.
+ * {@code userId}, {@code roles} and {@code tokenId} (jti) are missing in tokens issued
+ * before they were added.
+ */
+public record JwtClaims(
+    String username,
+    Long userId,
+    List<String> roles,
+    Instant issuedAt,
+    Instant expiresAt,
+    String tokenId
+) {}
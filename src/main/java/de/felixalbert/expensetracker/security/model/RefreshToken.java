@@ -5,23 +5,34 @@ import java.time.Instant;
 import de.felixalbert.expensetracker.user.model.User;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+/**
+ * Only the SHA-256 hash of the token value is stored; the value itself is handed to the
+ * client once and never persisted.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(
+    name = "refresh_tokens",
+    uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = "token_hash"),
+    indexes = @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+)
 public class RefreshToken {
 
     @Id
     @GeneratedValue
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "token_hash", nullable = false, length = 32)
+    private byte[] tokenHash;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private User user;
 
     @Column(nullable = false)
@@ -29,8 +40,8 @@ public class RefreshToken {
 
     private boolean revoked = false;
 
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
     }
 
     public User getUser() {
@@ -45,8 +56,8 @@ public class RefreshToken {
         return revoked;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
     
     public void setUser(User user) {
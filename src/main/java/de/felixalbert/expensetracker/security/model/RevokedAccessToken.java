@@ -0,0 +1,45 @@
+package de.felixalbert.expensetracker.security.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A revoked access token (by jti), kept only so revocations survive a restart. The
+ * authoritative check is the in-memory set in TokenRevocationService. Rows are only
+ * written with {@code auth.revocation.persistent=true}, but the table is part of the
+ * schema either way, since prod validates every mapped entity on startup.
+ */
+@Entity
+@Table(
+    name = "revoked_access_tokens",
+    indexes = @Index(name = "idx_revoked_access_tokens_expires_at", columnList = "expires_at")
+)
+public class RevokedAccessToken {
+
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    protected RevokedAccessToken() {}
+
+    public RevokedAccessToken(String tokenId, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
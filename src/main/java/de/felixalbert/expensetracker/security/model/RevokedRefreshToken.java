@@ -0,0 +1,9 @@
+package de.felixalbert.expensetracker.security.model;
+
+import java.time.Instant;
+
+public record RevokedRefreshToken(
+    Long userId,
+    String email,
+    Instant expiresAt
+) {}
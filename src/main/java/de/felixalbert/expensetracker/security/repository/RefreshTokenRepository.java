@@ -1,13 +1,43 @@
 package de.felixalbert.expensetracker.security.repository;
 
-import java.util.Optional;
+import java.time.Instant;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import de.felixalbert.expensetracker.security.model.RefreshToken;
 
 public interface RefreshTokenRepository
-        extends JpaRepository<RefreshToken, Long> {
+        extends JpaRepository<RefreshToken, Long>, RefreshTokenRevocationRepository {
 
-    Optional<RefreshToken> findByToken(String token);
+    // one bounded delete per transaction, so a purge never holds many row locks at once;
+    // revoked and expired rows are separate statements, so each can use its own index
+
+    // served by the partial index idx_refresh_tokens_revoked (where revoked) in PostgreSQL
+    @Transactional
+    @Modifying
+    @Query(value = """
+        delete from refresh_tokens
+        where id in (
+            select id from refresh_tokens
+            where revoked = true
+            limit :batchSize
+        )
+        """, nativeQuery = true)
+    int deleteRevokedBatch(int batchSize);
+
+    // served by idx_refresh_tokens_expires_at
+    @Transactional
+    @Modifying
+    @Query(value = """
+        delete from refresh_tokens
+        where id in (
+            select id from refresh_tokens
+            where expires_at < :expiredBefore
+            limit :batchSize
+        )
+        """, nativeQuery = true)
+    int deleteExpiredBatch(Instant expiredBefore, int batchSize);
 }
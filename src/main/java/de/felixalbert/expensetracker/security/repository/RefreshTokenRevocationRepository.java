@@ -0,0 +1,15 @@
+package de.felixalbert.expensetracker.security.repository;
+
+import java.util.Optional;
+
+import de.felixalbert.expensetracker.security.model.RevokedRefreshToken;
+
+public interface RefreshTokenRevocationRepository {
+
+    /**
+     * Revokes the token with the given hash if it is not revoked yet, in a single
+     * statement, and returns its user and expiry. Of two concurrent calls for the same
+     * token only one gets a result.
+     */
+    Optional<RevokedRefreshToken> revokeActive(byte[] tokenHash);
+}
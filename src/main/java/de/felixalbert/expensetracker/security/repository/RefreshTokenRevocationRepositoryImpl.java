@@ -0,0 +1,59 @@
+package de.felixalbert.expensetracker.security.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.query.NativeQuery;
+
+import de.felixalbert.expensetracker.common.persistence.DatabaseDialect;
+import de.felixalbert.expensetracker.security.model.RevokedRefreshToken;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class RefreshTokenRevocationRepositoryImpl implements RefreshTokenRevocationRepository {
+
+    private static final String POSTGRESQL_REVOKE = """
+        with revoked as (
+            update refresh_tokens set revoked = true
+            where token_hash = :tokenHash and revoked = false
+            returning user_id, expires_at
+        )
+        select r.user_id, u.email, r.expires_at
+        from revoked r join users u on u.id = r.user_id
+        """;
+
+    private static final String H2_REVOKE = """
+        select r.user_id, u.email, r.expires_at
+        from final table (
+            update refresh_tokens set revoked = true
+            where token_hash = :tokenHash and revoked = false
+        ) r join users u on u.id = r.user_id
+        """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<RevokedRefreshToken> revokeActive(byte[] tokenHash) {
+        String sql = DatabaseDialect.of(entityManager) == DatabaseDialect.POSTGRESQL
+            ? POSTGRESQL_REVOKE
+            : H2_REVOKE;
+
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+            .unwrap(NativeQuery.class)
+            .addScalar("user_id", Long.class)
+            .addScalar("email", String.class)
+            .addScalar("expires_at", Instant.class)
+            .setParameter("tokenHash", tokenHash)
+            .getResultList();
+
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Object[] row = rows.get(0);
+        return Optional.of(new RevokedRefreshToken((Long) row[0], (String) row[1], (Instant) row[2]));
+    }
+}
@@ -0,0 +1,22 @@
+package de.felixalbert.expensetracker.security.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.felixalbert.expensetracker.security.model.RevokedAccessToken;
+
+public interface RevokedAccessTokenRepository
+        extends JpaRepository<RevokedAccessToken, String> {
+
+    List<RevokedAccessToken> findByExpiresAtAfter(Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedAccessToken t where t.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
@@ -1,32 +1,76 @@
 package de.felixalbert.expensetracker.security.service;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 
+import de.felixalbert.expensetracker.common.persistence.ReadRouting;
 import de.felixalbert.expensetracker.security.model.CustomUserDetails;
-import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.event.UserChangedEvent;
 import de.felixalbert.expensetracker.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+/**
+ * Loads users by email through a bounded cache, so an authenticated request does not
+ * need a users-table query. Entries expire after a TTL and are evicted explicitly on
+ * {@link UserChangedEvent}. Concurrent misses for the same email share one load;
+ * unknown emails are not cached.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    static final String CACHE_NAME = "userDetails";
+
     private final UserRepository userRepository;
+    private final LoadingCache<String, CustomUserDetails> cache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(
+        UserRepository userRepository,
+        @Value("${auth.user-cache.max-size:10000}") long maxSize,
+        @Value("${auth.user-cache.ttl:5m}") Duration ttl,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
         this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build(this::load);
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
     }
 
     @Override
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
 
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() ->
-                new UsernameNotFoundException("User not found")
-            );
+        CustomUserDetails userDetails = cache.get(email);
+        if (userDetails == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return userDetails;
+    }
+
+    // after commit, so a concurrent miss cannot re-cache the old row; runs directly outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidate(event.email());
+    }
 
-        return new CustomUserDetails(user);
+    // always from the primary: a stale replica row would be cached for the whole ttl
+    private CustomUserDetails load(String email) {
+        return ReadRouting.onPrimary(() -> userRepository.findByEmail(email)
+            .map(CustomUserDetails::new)
+            .orElse(null));
     }
 }
@@ -4,23 +4,35 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.security.model.CustomUserDetails;
+import de.felixalbert.expensetracker.security.model.JwtClaims;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 @Service
 public class JwtService {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final byte[] EXPIRATION_KEY = "\"exp\"".getBytes(StandardCharsets.US_ASCII);
+
     private final Key signingKey;
     private final Duration accessTokenExpiration;
+    // immutable and thread-safe, built once instead of per token
+    private final JwtParser parser;
 
     public JwtService(
         @Value("${jwt.secret}") String secret,
@@ -30,20 +42,44 @@ public class JwtService {
             secret.getBytes(StandardCharsets.UTF_8)
         );
         this.accessTokenExpiration = accessTokenExpiration;
+        this.parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
     }
 
     public String generateToken(Authentication authentication) {
         return generateToken(authentication.getName());
     }
 
+    // carries id and roles, so the stateless mode can authenticate without loading the user
     public String generateToken(User user) {
-        return generateToken(user.getEmail());
+        return generateToken(new CustomUserDetails(user));
+    }
+
+    public String generateToken(CustomUserDetails user) {
+        List<String> roles = user.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .toList();
+        Instant now = Instant.now();
+
+        return Jwts.builder()
+            .setId(UUID.randomUUID().toString())
+            .setSubject(user.getUsername())
+            .claim(USER_ID_CLAIM, user.getId())
+            .claim(ROLES_CLAIM, roles)
+            .setIssuedAt(Date.from(now))
+            .setExpiration(
+                Date.from(now.plus(accessTokenExpiration))
+            )
+            .signWith(signingKey)
+            .compact();
     }
 
     public String generateToken(String username) {
         Instant now = Instant.now();
 
         return Jwts.builder()
+            .setId(UUID.randomUUID().toString())
             .setSubject(username)
             .setIssuedAt(Date.from(now))
             .setExpiration(
@@ -53,27 +89,74 @@ public class JwtService {
             .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
+    /**
+     * Tells whether the token's {@code exp} lies in the past, reading the payload without
+     * verifying the signature and without throwing. Only meant to reject expired tokens
+     * early: a token is never trusted on this result, a {@code false} still has to go
+     * through {@link #validate(String)}.
+     */
+    public boolean isExpired(String token) {
+        int payloadStart = token.indexOf('.') + 1;
+        int payloadEnd = token.indexOf('.', payloadStart);
+        if (payloadStart == 0 || payloadEnd < 0) {
+            return false;
+        }
+
+        byte[] payload;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername())
-            && !isTokenExpired(token);
+        long expiresAt = readNumericClaim(payload, EXPIRATION_KEY);
+        return expiresAt >= 0 && System.currentTimeMillis() > expiresAt * 1000;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token)
-            .getExpiration()
-            .before(new Date());
+    // quotes inside JSON strings are escaped, so the quoted key can only match a real key
+    private static long readNumericClaim(byte[] json, byte[] quotedKey) {
+        outer:
+        for (int i = 0; i <= json.length - quotedKey.length; i++) {
+            for (int j = 0; j < quotedKey.length; j++) {
+                if (json[i + j] != quotedKey[j]) {
+                    continue outer;
+                }
+            }
+
+            int pos = i + quotedKey.length;
+            while (pos < json.length && (json[pos] == ' ' || json[pos] == ':')) {
+                pos++;
+            }
+
+            long value = 0;
+            int digits = 0;
+            while (pos < json.length && json[pos] >= '0' && json[pos] <= '9' && digits < 18) {
+                value = value * 10 + (json[pos++] - '0');
+                digits++;
+            }
+            return digits > 0 ? value : -1;
+        }
+        return -1;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(signingKey)
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+    /**
+     * Verifies signature and expiry of the token with a single parse and returns its claims.
+     *
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature is invalid
+     */
+    public JwtClaims validate(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+
+        return new JwtClaims(
+            claims.getSubject(),
+            userId != null ? userId.longValue() : null,
+            roles != null ? roles.stream().map(String::valueOf).toList() : List.of(),
+            claims.getIssuedAt().toInstant(),
+            claims.getExpiration().toInstant(),
+            claims.getId()
+        );
     }
 }
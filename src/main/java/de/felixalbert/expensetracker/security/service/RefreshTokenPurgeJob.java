@@ -0,0 +1,88 @@
+package de.felixalbert.expensetracker.security.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.IntSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import de.felixalbert.expensetracker.security.repository.RefreshTokenRepository;
+import de.felixalbert.expensetracker.security.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Periodically deletes refresh tokens that can no longer be used: revoked ones right
+ * away, expired ones once they are older than the retention. Each kind is deleted by
+ * its own indexed statement, in batches of
+ * {@code auth.refresh-token-purge.batch-size}, each in its own transaction, until a
+ * batch comes back short. With {@code auth.revocation.persistent=true}, expired rows of
+ * persisted access token revocations go in the same run.
+ */
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private final RefreshTokenRepository repository;
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final Duration retention;
+    private final int batchSize;
+    private final boolean persistentRevocation;
+    private final Counter purged;
+    private final Timer duration;
+
+    public RefreshTokenPurgeJob(
+        RefreshTokenRepository repository,
+        RevokedAccessTokenRepository revokedAccessTokenRepository,
+        @Value("${auth.refresh-token-purge.retention:7d}") Duration retention,
+        @Value("${auth.refresh-token-purge.batch-size:1000}") int batchSize,
+        @Value("${auth.revocation.persistent:false}") boolean persistentRevocation,
+        MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.persistentRevocation = persistentRevocation;
+        this.purged = Counter.builder("auth.refresh_tokens.purged")
+            .description("Refresh tokens deleted by the purge job")
+            .register(meterRegistry);
+        this.duration = Timer.builder("auth.refresh_tokens.purge")
+            .description("Duration of a refresh token purge run")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${auth.refresh-token-purge.cron:-}")
+    public void run() {
+        long deleted = duration.record(this::purge);
+        // short-lived, so one statement suffices
+        int revocations = persistentRevocation ? revokedAccessTokenRepository.deleteExpired(Instant.now()) : 0;
+        log.info("Refresh token purge finished, {} token(s) and {} expired access token revocation(s) deleted",
+            deleted, revocations);
+    }
+
+    long purge() {
+        Instant expiredBefore = Instant.now().minus(retention);
+        return purgeInBatches(() -> repository.deleteRevokedBatch(batchSize))
+            + purgeInBatches(() -> repository.deleteExpiredBatch(expiredBefore, batchSize));
+    }
+
+    private long purgeInBatches(IntSupplier deleteBatch) {
+        long total = 0;
+        int deleted;
+
+        do {
+            deleted = deleteBatch.getAsInt();
+            purged.increment(deleted);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        return total;
+    }
+}
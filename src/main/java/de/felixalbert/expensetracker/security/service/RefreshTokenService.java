@@ -1,79 +1,95 @@
 package de.felixalbert.expensetracker.security.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import de.felixalbert.expensetracker.security.exception.InvalidRefreshTokenException;
 import de.felixalbert.expensetracker.security.exception.RefreshTokenExpiredException;
+import de.felixalbert.expensetracker.security.model.IssuedRefreshToken;
 import de.felixalbert.expensetracker.security.model.RefreshToken;
+import de.felixalbert.expensetracker.security.model.RevokedRefreshToken;
 import de.felixalbert.expensetracker.security.repository.RefreshTokenRepository;
 import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 
 
 @Service
+@Timed(value = "auth.refresh_token.service", histogram = true)
 public class RefreshTokenService {
 
     private final RefreshTokenRepository repository;
+    private final UserRepository userRepository;
 
     private final Duration refreshTokenExpiration;
 
     public RefreshTokenService(
         RefreshTokenRepository repository,
+        UserRepository userRepository,
         @Value("${auth.refresh-token-expiration}") Duration refreshTokenExpiration
     ) {
         this.refreshTokenExpiration = refreshTokenExpiration;
         this.repository = repository;
+        this.userRepository = userRepository;
     }
 
-    public RefreshToken create(User user) {
-        Instant now = Instant.now();
-
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setToken(UUID.randomUUID().toString());
-        refreshToken.setExpiresAt(now.plus(refreshTokenExpiration));
-        refreshToken.setRevoked(false);
-
-        return repository.save(refreshToken);
+    @Transactional
+    public IssuedRefreshToken create(User user) {
+        return issue(user, user.getEmail());
     }
 
-    public void revokeByToken(String token) {
-        repository.findByToken(token) //no error: no security leak!
-            .ifPresent(rt -> {
-                rt.setRevoked(true);
-                repository.save(rt);
-            });
+    // returns the id of the token's user, if the token was still active
+    @Transactional
+    public Optional<Long> revokeByToken(String token) {
+        return repository.revokeActive(hash(token)) //no error: no security leak!
+            .map(RevokedRefreshToken::userId);
     }
 
-    public RefreshToken validate(String token) {
-        RefreshToken refreshToken = repository.findByToken(token)
+    /**
+     * Revokes the token and issues its successor: one conditional update and one insert.
+     * A token can be rotated only once, concurrent refreshes with it included.
+     */
+    @Transactional
+    public IssuedRefreshToken rotate(String token) {
+        RevokedRefreshToken revoked = repository.revokeActive(hash(token))
             .orElseThrow(() -> new InvalidRefreshTokenException());
 
-        if (refreshToken.isRevoked()) {
-            throw new InvalidRefreshTokenException();
-        }
-
-        if (refreshToken.getExpiresAt().isBefore(Instant.now())) {
+        // rolls back the revocation, the token stays unusable anyway
+        if (revoked.expiresAt().isBefore(Instant.now())) {
             throw new RefreshTokenExpiredException();
         }
 
-        return refreshToken;
+        return issue(userRepository.getReferenceById(revoked.userId()), revoked.email());
     }
 
-    public RefreshToken rotate(RefreshToken oldToken) {
-        oldToken.setRevoked(true);
-        repository.save(oldToken);
+    private IssuedRefreshToken issue(User user, String email) {
+        String token = UUID.randomUUID().toString();
 
-        Instant now = Instant.now();
-        RefreshToken newToken = new RefreshToken();
-        newToken.setUser(oldToken.getUser());
-        newToken.setToken(UUID.randomUUID().toString());
-        newToken.setExpiresAt(now.plus(refreshTokenExpiration));
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setExpiresAt(Instant.now().plus(refreshTokenExpiration));
+        refreshToken.setRevoked(false);
+        repository.save(refreshToken);
 
-        return repository.save(newToken);
+        return new IssuedRefreshToken(token, user.getId(), email);
+    }
+
+    static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                .digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package de.felixalbert.expensetracker.security.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import de.felixalbert.expensetracker.security.model.JwtClaims;
+import de.felixalbert.expensetracker.security.model.RevokedAccessToken;
+import de.felixalbert.expensetracker.security.repository.RevokedAccessTokenRepository;
+
+/**
+ * Revokes access tokens without a database hit on the request path, in two ways:
+ * <ul>
+ *   <li>a single token by its jti, kept in memory until the token would have expired;</li>
+ *   <li>all tokens of a user by remembering a "not before" instant, which also covers
+ *       tokens issued before jti existed.</li>
+ * </ul>
+ * With {@code auth.revocation.persistent=true} revoked jtis are also written to the
+ * database and reloaded on startup; otherwise the state is kept per instance. Expired
+ * rows are deleted by {@link RefreshTokenPurgeJob}, not on the revoke path.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final Duration accessTokenExpiration;
+    private final RevokedAccessTokenRepository repository;
+    private final boolean persistent;
+    private final Map<Long, Instant> notBefore = new ConcurrentHashMap<>();
+    private final Cache<String, Instant> revokedTokenIds = Caffeine.newBuilder()
+        .expireAfter(Expiry.<String, Instant>creating((tokenId, expiresAt) ->
+            Duration.between(Instant.now(), expiresAt)))
+        .build();
+
+    public TokenRevocationService(
+        @Value("${jwt.access-token-expiration}") Duration accessTokenExpiration,
+        RevokedAccessTokenRepository repository,
+        @Value("${auth.revocation.persistent:false}") boolean persistent
+    ) {
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.repository = repository;
+        this.persistent = persistent;
+    }
+
+    public void revoke(JwtClaims claims) {
+        if (claims.tokenId() == null || !claims.expiresAt().isAfter(Instant.now())) {
+            return;
+        }
+
+        revokedTokenIds.put(claims.tokenId(), claims.expiresAt());
+
+        if (persistent) {
+            repository.save(new RevokedAccessToken(claims.tokenId(), claims.expiresAt()));
+        }
+    }
+
+    public void revokeAllFor(Long userId) {
+        // iat has second precision: a token issued in the current second may predate the revocation
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        notBefore.merge(userId, cutoff, (a, b) -> a.isAfter(b) ? a : b);
+
+        Instant expired = Instant.now().minus(accessTokenExpiration);
+        notBefore.values().removeIf(instant -> instant.isBefore(expired));
+    }
+
+    public boolean isRevoked(JwtClaims claims) {
+        if (claims.tokenId() != null && revokedTokenIds.getIfPresent(claims.tokenId()) != null) {
+            return true;
+        }
+        if (claims.userId() == null) {
+            return false;
+        }
+        Instant cutoff = notBefore.get(claims.userId());
+        return cutoff != null && claims.issuedAt().isBefore(cutoff);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (!persistent) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        repository.deleteExpired(now);
+        repository.findByExpiresAtAfter(now)
+            .forEach(token -> revokedTokenIds.put(token.getTokenId(), token.getExpiresAt()));
+    }
+}
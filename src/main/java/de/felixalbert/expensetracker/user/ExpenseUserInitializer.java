@@ -11,6 +11,9 @@ import org.springframework.context.annotation.Profile;
 import de.felixalbert.expensetracker.expense.model.Expense;
 import de.felixalbert.expensetracker.expense.model.ExpenseType;
 import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRollupRepository;
+import de.felixalbert.expensetracker.expense.repository.ExpenseTombstoneRepository;
+import de.felixalbert.expensetracker.expense.service.ExpenseService;
 import de.felixalbert.expensetracker.security.repository.RefreshTokenRepository;
 import de.felixalbert.expensetracker.user.model.User;
 import de.felixalbert.expensetracker.user.repository.UserRepository;
@@ -23,12 +26,17 @@ public class ExpenseUserInitializer {
     @Bean
     CommandLineRunner initTestUserWithExpenses(
         UserService userService,
+        ExpenseService expenseService,
         UserRepository userRepository,
         ExpenseRepository expenseRepository,
+        ExpenseRollupRepository expenseRollupRepository,
+        ExpenseTombstoneRepository expenseTombstoneRepository,
         RefreshTokenRepository refreshTokenRepository
         ) { 
         return args -> {
             refreshTokenRepository.deleteAll();
+            expenseRollupRepository.deleteAll();
+            expenseTombstoneRepository.deleteAll();
             expenseRepository.deleteAll();
             userRepository.deleteAll();
             User testUser1 = userService.createUser("test@test.de", "password123");
@@ -41,8 +49,7 @@ public class ExpenseUserInitializer {
                         "Supermarket",
                         ExpenseType.EXPENSE
                 );
-            testExpense1.setUser(testUser1);
-            expenseRepository.save(testExpense1);
+            expenseService.create(testExpense1, testUser1.getId());
 
             Expense testExpense2 = new Expense(
                         new BigDecimal("3000.00"),
@@ -51,8 +58,7 @@ public class ExpenseUserInitializer {
                         "Monthly salary",
                         ExpenseType.INCOME
                 );
-            testExpense2.setUser(testUser1);
-            expenseRepository.save(testExpense2);
+            expenseService.create(testExpense2, testUser1.getId());
 
 
             Expense testExpense3 = new Expense(
@@ -62,8 +68,7 @@ public class ExpenseUserInitializer {
                         "Supermarket",
                         ExpenseType.EXPENSE
                 );
-            testExpense3.setUser(testUser2);
-            expenseRepository.save(testExpense3);
+            expenseService.create(testExpense3, testUser2.getId());
 
             Expense testExpense4 = new Expense(
                         new BigDecimal("2000.00"),
@@ -72,8 +77,7 @@ public class ExpenseUserInitializer {
                         "Monthly salary",
                         ExpenseType.INCOME
                 );
-            testExpense4.setUser(testUser2);
-            expenseRepository.save(testExpense4);
+            expenseService.create(testExpense4, testUser2.getId());
         };
     }
 
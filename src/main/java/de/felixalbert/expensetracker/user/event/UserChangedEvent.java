@@ -0,0 +1,8 @@
+package de.felixalbert.expensetracker.user.event;
+
+/**
+ * Published whenever a user is created, changed or deleted, so that anything caching
+ * data of that user (keyed by email) can drop it.
+ */
+public record UserChangedEvent(String email) {
+}
@@ -8,16 +8,23 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+)
 public class User {
 
+    // registration relies on this constraint instead of checking for the email first
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -26,6 +33,11 @@ public class User {
     @Column(nullable = false)
     private Instant createdAt;
 
+    // bumped with every change to the user's expenses (ETag, sync cursor); only written by
+    // UserDataVersionRepository, so a stale copy in the persistence context never overwrites it
+    @Column(nullable = false, updatable = false)
+    private long dataVersion;
+
     protected User() {
         // for JPA
     }
@@ -59,4 +71,8 @@ public class User {
     public Instant getCreatedAt() {
         return createdAt;
     }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package de.felixalbert.expensetracker.user.repository;
+
+import java.util.OptionalLong;
+
+public interface UserDataVersionRepository {
+
+    /**
+     * Adds {@code changes} to the user's data version in a single statement and returns
+     * the new value, or an empty result if the user does not exist. The row stays locked
+     * until commit, which orders concurrent writers of one user.
+     */
+    OptionalLong incrementDataVersion(Long userId, long changes);
+}
@@ -0,0 +1,45 @@
+package de.felixalbert.expensetracker.user.repository;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import de.felixalbert.expensetracker.common.persistence.DatabaseDialect;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class UserDataVersionRepositoryImpl implements UserDataVersionRepository {
+
+    private static final String POSTGRESQL_INCREMENT = """
+        update users set data_version = data_version + :changes
+        where id = :userId
+        returning data_version
+        """;
+
+    private static final String H2_INCREMENT = """
+        select data_version from final table (
+            update users set data_version = data_version + :changes
+            where id = :userId
+        )
+        """;
+
+    // field injection: the shared EntityManager bean does not exist yet when servlet filters
+    // pull in the repositories during embedded server startup
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public OptionalLong incrementDataVersion(Long userId, long changes) {
+        String sql = DatabaseDialect.of(entityManager) == DatabaseDialect.POSTGRESQL
+            ? POSTGRESQL_INCREMENT
+            : H2_INCREMENT;
+
+        List<?> rows = entityManager.createNativeQuery(sql, Long.class)
+            .setParameter("changes", changes)
+            .setParameter("userId", userId)
+            .getResultList();
+
+        return rows.isEmpty()
+            ? OptionalLong.empty()
+            : OptionalLong.of(((Number) rows.get(0)).longValue());
+    }
+}
@@ -1,14 +1,23 @@
 package de.felixalbert.expensetracker.user.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import de.felixalbert.expensetracker.user.model.User;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserDataVersionRepository {
 
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("select u.id from User u order by u.id")
+    List<Long> findAllIds();
+
+    @Query("select u.dataVersion from User u where u.id = :userId")
+    Optional<Long> findDataVersionById(@Param("userId") Long userId);
 }
@@ -1,23 +1,47 @@
 package de.felixalbert.expensetracker.user.service;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.time.Duration;
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import de.felixalbert.expensetracker.user.event.UserChangedEvent;
 import de.felixalbert.expensetracker.user.exception.UserAlreadyInUseException;
 import de.felixalbert.expensetracker.user.exception.UserNotFoundException;
 import de.felixalbert.expensetracker.user.model.User;
 import de.felixalbert.expensetracker.user.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "user.service", histogram = true)
 public class UserService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    // emails seen registered on this instance, so repeated signups skip BCrypt; a miss proves nothing
+    private final Cache<String, Boolean> knownEmails;
 
     public UserService(UserRepository userRepository,
-                       BCryptPasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${user.registration.known-emails.max-size:100000}") long knownEmailsMaxSize,
+                       @Value("${user.registration.known-emails.ttl:1h}") Duration knownEmailsTtl) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.knownEmails = Caffeine.newBuilder()
+            .maximumSize(knownEmailsMaxSize)
+            .expireAfterWrite(knownEmailsTtl)
+            .build();
     }
 
     public User getById(Long id){
@@ -25,15 +49,37 @@ public class UserService {
             .orElseThrow(() -> new UserNotFoundException(id));
     }
 
+    /**
+     * Registers a user with a single insert; a taken email is detected by the unique
+     * constraint on {@code users.email}, which also settles concurrent signups.
+     */
     public User createUser(String email, String rawPassword) {
 
-        if (userRepository.existsByEmail(email)) {
+        if (knownEmails.getIfPresent(email) != null) {
             throw new UserAlreadyInUseException();
         }
 
         String passwordHash = passwordEncoder.encode(rawPassword);
 
-        User user = new User(email, passwordHash);
-        return userRepository.save(user);
+        User user;
+        try {
+            user = userRepository.save(new User(email, passwordHash));
+        } catch (DataIntegrityViolationException ex) {
+            if (!isEmailConflict(ex)) {
+                throw ex;
+            }
+            knownEmails.put(email, Boolean.TRUE);
+            throw new UserAlreadyInUseException();
+        }
+
+        knownEmails.put(email, Boolean.TRUE);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+        return user;
+    }
+
+    private static boolean isEmailConflict(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+            && violation.getConstraintName() != null
+            && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
     }
 }
@@ -0,0 +1,54 @@
+package de.felixalbert.expensetracker.common.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+// from JDK 24 on, blocking inside synchronized no longer pins the carrier (JEP 491)
+@EnabledForJreRange(min = JRE.JAVA_21, max = JRE.JAVA_23)
+class VirtualThreadPinningMonitorTests {
+
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+
+    private final Object lock = new Object();
+
+    @AfterEach
+    void close() {
+        monitor.close();
+    }
+
+    @Test
+    void blockingInsideSynchronized_reportsTheStackOnce() throws Exception {
+        // Arrange
+        Runnable pinned = () -> {
+            synchronized (lock) {
+                sleep(Duration.ofMillis(50));
+            }
+        };
+
+        // Act
+        Thread.ofVirtual().start(pinned).join();
+        Thread.ofVirtual().start(pinned).join();
+
+        // Assert (events reach the stream with the next JFR flush, about once per second)
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (monitor.reportedStacks().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(monitor.reportedStacks())
+            .singleElement().asString().contains("VirtualThreadPinningMonitorTests");
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * A {@link DataJpaTest} against a real PostgreSQL instead of H2, for the native SQL that
+ * only runs there ({@code RETURNING}, data-modifying CTEs). Skipped when no Docker
+ * daemon is available.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportTestcontainers(PostgreSqlTestContainer.class)
+@Testcontainers(disabledWithoutDocker = true)
+@ActiveProfiles("postgres-test")
+public @interface PostgreSqlJpaTest {
+}
@@ -0,0 +1,14 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * The PostgreSQL server behind {@link PostgreSqlJpaTest}. Spring starts it with the
+ * first context that imports it; contexts are cached, so the test classes share it.
+ */
+public interface PostgreSqlTestContainer {
+
+    @ServiceConnection
+    PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:17-alpine");
+}
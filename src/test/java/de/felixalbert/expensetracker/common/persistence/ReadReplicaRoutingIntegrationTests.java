@@ -0,0 +1,91 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseFilter;
+import de.felixalbert.expensetracker.expense.model.ExpensePage;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.service.ExpenseService;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+
+/**
+ * Primary and replica are two embedded databases. Nothing replicates between them
+ * except {@link #replicate()}, so every read shows which one served it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("replica-test")
+class ReadReplicaRoutingIntegrationTests {
+
+    private static final ExpenseFilter NO_FILTER = new ExpenseFilter(null, null, null, null);
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        replicate();
+        User user = userRepository.save(
+            UserTestDataBuilder.aUser().withEmail(UUID.randomUUID() + "@test.com").build()
+        );
+        userId = user.getId();
+        expenseService.create(new Expense(new BigDecimal("12.50"), "Food", LocalDate.now(), "Lunch", ExpenseType.EXPENSE), userId);
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromReplica() {
+        // Act
+        ExpensePage beforeReplication = expenseService.getPage(userId, NO_FILTER, null, 50);
+        replicate();
+        ExpensePage afterReplication = expenseService.getPage(userId, NO_FILTER, null, 50);
+
+        // Assert
+        assertThat(beforeReplication.items()).isEmpty();
+        assertThat(afterReplication.items()).hasSize(1);
+    }
+
+    @Test
+    void primaryScope_readsOwnWriteBeforeReplication() {
+        // Act
+        ExpensePage page = ReadRouting.onPrimary(() -> expenseService.getPage(userId, NO_FILTER, null, 50));
+
+        // Assert
+        assertThat(page.items()).hasSize(1);
+        assertThat(ReadRouting.isPrimaryRequired()).isFalse();
+    }
+
+    // copies the primary into the replica, standing in for streaming replication
+    private void replicate() {
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+}
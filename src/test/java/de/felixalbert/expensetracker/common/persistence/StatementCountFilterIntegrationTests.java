@@ -0,0 +1,62 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import de.felixalbert.expensetracker.security.service.JwtService;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("jpa-test")
+class StatementCountFilterIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void authenticatedRequest_countsTheUserLookupOfTheSecurityChain() throws Exception {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().withEmail(UUID.randomUUID() + "@test.com").build());
+        String authorization = "Bearer " + jwtService.generateToken(user);
+
+        // Act (the first request loads the user details, the second one finds them cached)
+        mockMvc.perform(get("/api/expenses").header("Authorization", authorization)).andExpect(status().isOk());
+        double firstRequest = statements().totalAmount();
+        mockMvc.perform(get("/api/expenses").header("Authorization", authorization)).andExpect(status().isOk());
+        double secondRequest = statements().totalAmount() - firstRequest;
+
+        // Assert
+        assertThat(statements().count()).isEqualTo(2);
+        assertThat(firstRequest).isEqualTo(secondRequest + 1);
+    }
+
+    private DistributionSummary statements() {
+        return meterRegistry.get(StatementCountFilter.METRIC).tag("uri", "/api/expenses").summary();
+    }
+}
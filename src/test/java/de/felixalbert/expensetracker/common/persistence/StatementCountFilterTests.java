@@ -0,0 +1,46 @@
+package de.felixalbert.expensetracker.common.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StatementCountFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final StatementCountFilter filter = new StatementCountFilter(
+        new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class)
+    );
+
+    @Test
+    void recordsStatementsOfTheRequestByUriPattern() throws Exception {
+        // Arrange
+        StatementCountingInspector inspector = new StatementCountingInspector();
+        inspector.inspect("select 1");  // left over from an earlier request on this thread
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses/7");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/expenses/{id}");
+            inspector.inspect("select e from expenses e");
+            inspector.inspect("select c from categories c");
+        });
+
+        // Assert
+        DistributionSummary summary = meterRegistry.get(StatementCountFilter.METRIC)
+            .tag("uri", "/api/expenses/{id}")
+            .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,46 @@
+package de.felixalbert.expensetracker.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "management.server.port=0"
+)
+@ActiveProfiles("test")
+class ManagementPortIntegrationTests {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void actuator_isServedOnTheManagementPortOnly() throws Exception {
+        // Act
+        HttpResponse<String> management = get(managementPort, "/actuator/health");
+        HttpResponse<String> api = get(port, "/actuator/health");
+
+        // Assert
+        assertThat(management.statusCode()).isEqualTo(200);
+        assertThat(api.statusCode()).isEqualTo(401);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
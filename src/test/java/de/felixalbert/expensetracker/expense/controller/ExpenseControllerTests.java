@@ -1,6 +1,9 @@
 package de.felixalbert.expensetracker.expense.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -8,26 +11,54 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 import tools.jackson.databind.ObjectMapper ;
 
+import de.felixalbert.expensetracker.common.persistence.ReadRouting;
+import de.felixalbert.expensetracker.expense.exception.ExpenseNotFoundException;
+import de.felixalbert.expensetracker.expense.exception.InvalidCursorException;
+import de.felixalbert.expensetracker.expense.model.BatchCreateResult;
+import de.felixalbert.expensetracker.expense.model.BatchItemResult;
 import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseChanges;
+import de.felixalbert.expensetracker.expense.model.ExpenseFilter;
+import de.felixalbert.expensetracker.expense.model.ExpensePage;
 import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.model.ImportRejection;
+import de.felixalbert.expensetracker.expense.model.ImportResult;
+import de.felixalbert.expensetracker.expense.model.ExportFormat;
+import de.felixalbert.expensetracker.expense.model.MonthlySummary;
+import de.felixalbert.expensetracker.expense.service.ExpenseBatchService;
+import de.felixalbert.expensetracker.expense.service.ExpenseExportService;
+import de.felixalbert.expensetracker.expense.service.ExpenseImportService;
+import de.felixalbert.expensetracker.expense.service.ExpenseSyncService;
 import de.felixalbert.expensetracker.expense.service.ExpenseService;
+import de.felixalbert.expensetracker.expense.service.ExpenseSummaryService;
 import de.felixalbert.expensetracker.security.model.CustomUserDetails;
 import de.felixalbert.expensetracker.security.service.JwtService;
+import de.felixalbert.expensetracker.security.service.TokenRevocationService;
 import de.felixalbert.expensetracker.user.model.User;
 import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(ExpenseController.class)
 @ActiveProfiles("test")
@@ -39,21 +70,42 @@ class ExpenseControllerTests {
     @MockitoBean
     private ExpenseService expenseService;
 
+    @MockitoBean
+    private ExpenseExportService expenseExportService;
+
+    @MockitoBean
+    private ExpenseSummaryService expenseSummaryService;
+
+    @MockitoBean
+    private ExpenseBatchService expenseBatchService;
+
+    @MockitoBean
+    private ExpenseImportService expenseImportService;
+
+    @MockitoBean
+    private ExpenseSyncService expenseSyncService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @MockitoBean
     private final JwtService jwtService = new JwtService("secret-must-be-veeeery-veeeeery-long-but-is-just-for-mocking", Duration.ofSeconds(1L));
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
-    void getAllExpenses_returnsExpensesOfAuthenticatedUserAndStatus200() throws Exception {
+    void getExpenses_returnsPageOfAuthenticatedUserAndStatus200() throws Exception {
         // Arrange
         Long userId = 1L;
         User user = UserTestDataBuilder.aUser().withId(userId).build();
         CustomUserDetails principal = new CustomUserDetails(user);
 
-        List<Expense> expenses = ExpenseTestDataBuilder.expensesOf(user);
+        List<ExpenseView> items = ExpenseTestDataBuilder.expensesOf(user).stream()
+            .map(ExpenseView::of)
+            .toList();
+        ExpensePage page = new ExpensePage(items, "next-cursor");
 
-        when(expenseService.getAll(userId)).thenReturn(expenses);
+        when(expenseService.getPage(userId, ExpenseFilter.none(), null, 50)).thenReturn(page);
 
         // Act & Assert
         mockMvc.perform(
@@ -61,9 +113,312 @@ class ExpenseControllerTests {
                     .with(user(principal))
             )
             .andExpect(status().isOk())
-            .andExpect(content().json(objectMapper.writeValueAsString(expenses)));
+            .andExpect(content().json(objectMapper.writeValueAsString(page)));
+
+        verify(expenseService).getPage(userId, ExpenseFilter.none(), null, 50);
+    }
 
-        verify(expenseService).getAll(userId);
+    @Test
+    void getExpenses_returnsDataVersionAsETag() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+
+        when(expenseService.getDataVersion(userId)).thenReturn(4L);
+        when(expenseService.getPage(userId, ExpenseFilter.none(), null, 50))
+            .thenReturn(new ExpensePage(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses")
+                    .with(user(principal))
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\"")
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    void getExpenses_matchingIfNoneMatch_returns304WithoutLoadingPage() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+
+        when(expenseService.getDataVersion(userId)).thenReturn(4L);
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses")
+                    .with(user(principal))
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"1-4\"")
+            )
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+            .andExpect(content().string(""));
+
+        verify(expenseService, never()).getPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getExpenses_passesFiltersAndCapsPageSize() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+        ExpenseFilter filter = new ExpenseFilter(
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), "Food", ExpenseType.EXPENSE);
+
+        when(expenseService.getPage(userId, filter, "abc", 200))
+            .thenReturn(new ExpensePage(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses")
+                    .with(user(principal))
+                    .param("cursor", "abc")
+                    .param("limit", "10000")
+                    .param("from", "2026-01-01")
+                    .param("to", "2026-01-31")
+                    .param("category", "Food")
+                    .param("type", "EXPENSE")
+            )
+            .andExpect(status().isOk());
+
+        verify(expenseService).getPage(userId, filter, "abc", 200);
+    }
+
+    @Test
+    void getExpenses_invalidCursor_returns400() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+
+        when(expenseService.getPage(eq(userId), any(ExpenseFilter.class), eq("broken"), anyInt()))
+            .thenThrow(new InvalidCursorException("broken"));
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses")
+                    .with(user(principal))
+                    .param("cursor", "broken")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    void getChanges_returnsChangesAfterCursor() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+        ExpenseChanges changes = new ExpenseChanges(
+            List.of(ExpenseView.of(ExpenseTestDataBuilder.anExpense().withId(10L).forUser(user).build())),
+            List.of(7L),
+            12L,
+            false
+        );
+
+        when(expenseService.getDataVersion(userId)).thenReturn(12L);
+        when(expenseSyncService.getChanges(userId, 9L, 50)).thenReturn(changes);
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses/changes")
+                    .param("since", "9")
+                    .with(user(principal))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().json(objectMapper.writeValueAsString(changes)));
+
+        verify(expenseSyncService).getChanges(userId, 9L, 50);
+    }
+
+    @Test
+    void getExpense_returnsProjectionOfAuthenticatedUserAndStatus200() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+        Long id = 42L;
+        ExpenseView view = ExpenseView.of(ExpenseTestDataBuilder.anExpense().withId(id).build());
+
+        when(expenseService.getViewById(id, userId)).thenReturn(view);
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses/42")
+                    .with(user(principal))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().json(objectMapper.writeValueAsString(view)));
+    }
+
+    @Test
+    void getExpense_notFound_returns404() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+
+        when(expenseService.getViewById(42L, userId)).thenThrow(new ExpenseNotFoundException(42L));
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses/42")
+                    .with(user(principal))
+            )
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.error").value("EXPENSE_NOT_FOUND"));
+    }
+
+    @Test
+    void getExpense_ifNoneMatchAnyForMissingExpense_returns404() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+
+        when(expenseService.getDataVersion(userId)).thenReturn(4L);
+        when(expenseService.getViewById(42L, userId)).thenThrow(new ExpenseNotFoundException(42L));
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses/42")
+                    .with(user(principal))
+                    .header(HttpHeaders.IF_NONE_MATCH, "*")
+            )
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getExpense_ifNoneMatchAnyForExistingExpense_returns304() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+        ExpenseView view = new ExpenseView(
+            42L, new BigDecimal("9.99"), "Food", LocalDate.of(2026, 1, 5), "Lunch", ExpenseType.EXPENSE);
+
+        when(expenseService.getDataVersion(userId)).thenReturn(4L);
+        when(expenseService.getViewById(42L, userId)).thenReturn(view);
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses/42")
+                    .with(user(principal))
+                    .header(HttpHeaders.IF_NONE_MATCH, "*")
+            )
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void exportExpenses_streamsExportOfAuthenticatedUserAsAttachment() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,date,amount,category,description,type\n".getBytes());
+            return null;
+        }).when(expenseExportService).export(eq(userId), eq(ExportFormat.CSV), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(
+                get("/api/expenses/export")
+                    .with(user(principal))
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"expenses.csv\""))
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(content().string("id,date,amount,category,description,type\n"));
+
+        verify(expenseExportService).export(eq(userId), eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void exportExpenses_streamsWithTheConfiguredTimeoutInsteadOfTheContainerDefault() throws Exception {
+        // Arrange
+        User user = UserTestDataBuilder.aUser().withId(1L).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+
+        // Act
+        MvcResult result = mockMvc.perform(
+                get("/api/expenses/export")
+                    .with(user(principal))
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Assert
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+    }
+
+    @Test
+    void exportExpenses_keepsPrimaryReadRoutingOnTheStreamingThread() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+        boolean[] primary = new boolean[1];
+
+        doAnswer(invocation -> {
+            primary[0] = ReadRouting.isPrimaryRequired();
+            return null;
+        }).when(expenseExportService).export(eq(userId), eq(ExportFormat.CSV), any());
+
+        // Act
+        MvcResult result;
+        try (ReadRouting.Scope scope = ReadRouting.primary()) {
+            result = mockMvc.perform(
+                    get("/api/expenses/export")
+                        .with(user(principal))
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        }
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk());
+
+        // Assert
+        assertThat(primary[0]).isTrue();
+    }
+
+    @Test
+    void getMonthlySummary_returnsAggregatesOfAuthenticatedUserAndStatus200() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+        List<MonthlySummary> summaries = List.of(
+            new MonthlySummary(2026, 1, ExpenseType.EXPENSE, new BigDecimal("15.50"), 2)
+        );
+
+        when(expenseSummaryService.getMonthly(userId, YearMonth.of(2026, 1), YearMonth.of(2026, 3)))
+            .thenReturn(summaries);
+
+        // Act & Assert
+        mockMvc.perform(
+                get("/api/expenses/summary/monthly")
+                    .with(user(principal))
+                    .param("from", "2026-01")
+                    .param("to", "2026-03")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().json(objectMapper.writeValueAsString(summaries)));
     }
 
     @Test
@@ -86,11 +441,66 @@ class ExpenseControllerTests {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(expense)))
             .andExpect(status().isCreated())
-            .andExpect(content().json(objectMapper.writeValueAsString(expenseWithUser)));
+            .andExpect(content().json(objectMapper.writeValueAsString(ExpenseView.of(expenseWithUser))))
+            .andExpect(jsonPath("$.user").doesNotExist());
 
         verify(expenseService).create(any(Expense.class), eq(userId));
     }
 
+    @Test
+    void createExpenses_returnsPerItemResultAndStatus200() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+        List<Expense> expenses = List.of(
+            ExpenseTestDataBuilder.anExpense().withoutUser().build(),
+            ExpenseTestDataBuilder.anExpense().withoutUser().withAmount(null).build()
+        );
+        BatchCreateResult result = new BatchCreateResult(1, 1, List.of(
+            BatchItemResult.created(0, 10L),
+            BatchItemResult.rejected(1, Map.of("amount", "Amount must not be null"))
+        ));
+
+        when(expenseBatchService.createBatch(anyList(), eq(userId))).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(
+                post("/api/expenses/batch")
+                    .with(user(principal))
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(expenses)))
+            .andExpect(status().isOk())
+            .andExpect(content().json(objectMapper.writeValueAsString(result)));
+
+        verify(expenseBatchService).createBatch(anyList(), eq(userId));
+    }
+
+    @Test
+    void importExpenses_returnsSummaryWithRejectedLines() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        CustomUserDetails principal = new CustomUserDetails(user);
+        ImportResult result = new ImportResult(1, 1, List.of(new ImportRejection(3, "Invalid amount 'abc'")));
+
+        when(expenseImportService.importCsv(any(InputStream.class), eq(userId))).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(
+                post("/api/expenses/import")
+                    .with(user(principal))
+                    .with(csrf())
+                    .contentType("text/csv")
+                    .content("date,amount\n2024-01-01,10\n2024-01-02,abc\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.rejections[0].line").value(3))
+            .andExpect(jsonPath("$.rejections[0].reason").value("Invalid amount 'abc'"));
+    }
+
     @Test
     void updateExpense_success_returnsUpdatedExpenseAndStatus200() throws Exception {
         // Arrange
@@ -100,7 +510,7 @@ class ExpenseControllerTests {
         Long id = 42L;
         Expense updated = ExpenseTestDataBuilder.anExpense().forUser(user).withId(id).build();
 
-        when(expenseService.update(eq(id), eq(userId), any(Expense.class))).thenReturn(updated);
+        when(expenseService.update(eq(id), eq(userId), any(Expense.class))).thenReturn(ExpenseView.of(updated));
 
         // Act & Assert
         mockMvc.perform(
@@ -111,7 +521,8 @@ class ExpenseControllerTests {
                     .content(objectMapper.writeValueAsString(updated))
             )
             .andExpect(status().isOk())
-            .andExpect(content().json(objectMapper.writeValueAsString(updated)));
+            .andExpect(content().json(objectMapper.writeValueAsString(ExpenseView.of(updated))))
+            .andExpect(jsonPath("$.user").doesNotExist());
     }
 
     @Test
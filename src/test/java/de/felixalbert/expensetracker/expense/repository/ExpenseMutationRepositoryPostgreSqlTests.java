@@ -0,0 +1,113 @@
+package de.felixalbert.expensetracker.expense.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import de.felixalbert.expensetracker.common.persistence.PostgreSqlJpaTest;
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * The {@code update ... returning} and {@code delete ... returning} statements of
+ * {@link ExpenseMutationRepositoryImpl}; H2 runs the {@code old table} variants instead.
+ */
+@PostgreSqlJpaTest
+class ExpenseMutationRepositoryPostgreSqlTests {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void updateOwned_returnsStateBeforeTheUpdate() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        Expense expense = expenseRepository.save(ExpenseTestDataBuilder.anExpense().forUser(user)
+            .withAmount(new BigDecimal("12.50")).withCategory("Food").withDate(LocalDate.of(2026, 1, 5)).build());
+        Expense changes = ExpenseTestDataBuilder.anExpense().withoutUser()
+            .withAmount(new BigDecimal("20.00")).withCategory(null).withDate(LocalDate.of(2026, 2, 1))
+            .withType(ExpenseType.INCOME).build();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Optional<ExpenseView> previous = expenseRepository.updateOwned(expense.getId(), user.getId(), changes, 7);
+        entityManager.clear();
+
+        // Assert
+        assertThat(previous).isPresent();
+        assertThat(previous.get().amount()).isEqualByComparingTo("12.50");
+        assertThat(previous.get().category()).isEqualTo("Food");
+        assertThat(previous.get().type()).isEqualTo(ExpenseType.EXPENSE);
+
+        Expense updated = expenseRepository.findById(expense.getId()).orElseThrow();
+        assertThat(updated.getAmount()).isEqualByComparingTo("20.00");
+        assertThat(updated.getCategory()).isNull();
+        assertThat(updated.getDate()).isEqualTo(LocalDate.of(2026, 2, 1));
+        assertThat(updated.getType()).isEqualTo(ExpenseType.INCOME);
+        assertThat(updated.getChangeVersion()).isEqualTo(7);
+    }
+
+    @Test
+    void updateOwned_ofAnotherUsersExpense_changesNothing() {
+        // Arrange
+        User owner = userRepository.save(UserTestDataBuilder.aUser().build());
+        User other = userRepository.save(UserTestDataBuilder.anotherUser().build());
+        Expense expense = expenseRepository.save(ExpenseTestDataBuilder.anExpense().forUser(owner)
+            .withAmount(new BigDecimal("12.50")).build());
+        Expense changes = ExpenseTestDataBuilder.anExpense().withoutUser()
+            .withAmount(new BigDecimal("99.00")).build();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Optional<ExpenseView> previous = expenseRepository.updateOwned(expense.getId(), other.getId(), changes, 1);
+        entityManager.clear();
+
+        // Assert
+        assertThat(previous).isEmpty();
+        assertThat(expenseRepository.findById(expense.getId()).orElseThrow().getAmount()).isEqualByComparingTo("12.50");
+    }
+
+    @Test
+    void deleteOwned_returnsLastStateAndRemovesTheRow() {
+        // Arrange
+        User owner = userRepository.save(UserTestDataBuilder.aUser().build());
+        User other = userRepository.save(UserTestDataBuilder.anotherUser().build());
+        Expense expense = expenseRepository.save(ExpenseTestDataBuilder.anExpense().forUser(owner)
+            .withAmount(new BigDecimal("8.00")).withDescription("Coffee").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Optional<ExpenseView> ofOther = expenseRepository.deleteOwned(expense.getId(), other.getId());
+        Optional<ExpenseView> deleted = expenseRepository.deleteOwned(expense.getId(), owner.getId());
+        Optional<ExpenseView> again = expenseRepository.deleteOwned(expense.getId(), owner.getId());
+
+        // Assert
+        assertThat(ofOther).isEmpty();
+        assertThat(deleted).isPresent();
+        assertThat(deleted.get().id()).isEqualTo(expense.getId());
+        assertThat(deleted.get().amount()).isEqualByComparingTo("8.00");
+        assertThat(deleted.get().description()).isEqualTo("Coffee");
+        assertThat(again).isEmpty();
+        assertThat(expenseRepository.existsById(expense.getId())).isFalse();
+    }
+}
@@ -2,21 +2,37 @@ package de.felixalbert.expensetracker.expense.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import de.felixalbert.expensetracker.common.persistence.SqlStatementRecorder;
 import de.felixalbert.expensetracker.expense.model.Expense;
 import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.model.RollupTotal;
 import de.felixalbert.expensetracker.user.model.User;
 import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
 import de.felixalbert.expensetracker.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 
-@DataJpaTest
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "de.felixalbert.expensetracker.common.persistence.SqlStatementRecorder"
+})
 @ActiveProfiles("jpa-test")
 class ExpenseRepositoryIntegrationTests {
 
@@ -26,8 +42,153 @@ class ExpenseRepositoryIntegrationTests {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void saveAll_insertsExpensesInJdbcBatches() {
+        // Arrange
+        User user = userRepository.save(
+            UserTestDataBuilder.aUser().build()
+        );
+        List<Expense> expenses = IntStream.range(0, 120)
+            .mapToObj(i -> ExpenseTestDataBuilder.anExpense().forUser(user).build())
+            .toList();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+
+        // Act
+        expenseRepository.saveAll(expenses);
+        expenseRepository.flush();
+
+        // Assert: 3 insert batches of 50 plus a few sequence calls instead of 120 inserts
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void findViewByIdAndUserId_returnsProjectionOnlyIfOwnedByUser() {
+        // Arrange
+        User user = userRepository.save(
+            UserTestDataBuilder.aUser().build()
+        );
+
+        Expense expense = expenseRepository.save(
+            ExpenseTestDataBuilder.anExpense().forUser(user).build()
+        );
+
+        // Act
+        Optional<ExpenseView> found =
+            expenseRepository.findViewByIdAndUserId(expense.getId(), user.getId());
+
+        Optional<ExpenseView> notFound =
+            expenseRepository.findViewByIdAndUserId(expense.getId(), 999L);
+
+        // Assert
+        assertThat(found).isPresent();
+        assertThat(found.get().id()).isEqualTo(expense.getId());
+        assertThat(found.get().description()).isEqualTo(expense.getDescription());
+        assertThat(notFound).isEmpty();
+    }
+
+    @Test
+    void findPage_walksExpensesNewestFirstUsingKeysetCursor() {
+        // Arrange
+        User user = userRepository.save(
+            UserTestDataBuilder.aUser().build()
+        );
+
+        Expense oldest = expenseRepository.save(
+            ExpenseTestDataBuilder.anExpense().forUser(user).withDate(LocalDate.of(2026, 1, 1)).build()
+        );
+        Expense sameDayFirst = expenseRepository.save(
+            ExpenseTestDataBuilder.anExpense().forUser(user).withDate(LocalDate.of(2026, 1, 2)).build()
+        );
+        Expense sameDaySecond = expenseRepository.save(
+            ExpenseTestDataBuilder.anExpense().forUser(user).withDate(LocalDate.of(2026, 1, 2)).build()
+        );
+
+        // Act
+        List<ExpenseView> firstPage = expenseRepository.findPage(
+            user.getId(), null, null, null, null, null, null, Limit.of(2));
+        ExpenseView last = firstPage.get(firstPage.size() - 1);
+        List<ExpenseView> secondPage = expenseRepository.findPage(
+            user.getId(), null, null, null, null, last.date(), last.id(), Limit.of(2));
+
+        // Assert
+        assertThat(firstPage).extracting(ExpenseView::id)
+            .containsExactly(sameDaySecond.getId(), sameDayFirst.getId());
+        assertThat(secondPage).extracting(ExpenseView::id)
+            .containsExactly(oldest.getId());
+    }
+
+    @Test
+    void findPage_appliesDateRangeCategoryAndTypeFilters() {
+        // Arrange
+        User user = userRepository.save(
+            UserTestDataBuilder.aUser().build()
+        );
+
+        Expense match = expenseRepository.save(
+            ExpenseTestDataBuilder.anExpense().forUser(user)
+                .withDate(LocalDate.of(2026, 2, 10)).withCategory("Food").build()
+        );
+        expenseRepository.save(
+            ExpenseTestDataBuilder.anExpense().forUser(user)
+                .withDate(LocalDate.of(2026, 3, 10)).withCategory("Food").build()
+        );
+        expenseRepository.save(
+            ExpenseTestDataBuilder.anExpense().forUser(user)
+                .withDate(LocalDate.of(2026, 2, 11)).withCategory("Rent").build()
+        );
+        expenseRepository.save(
+            ExpenseTestDataBuilder.anExpense().forUser(user)
+                .withDate(LocalDate.of(2026, 2, 12)).withCategory("Food")
+                .withType(ExpenseType.INCOME).withAmount(BigDecimal.valueOf(5)).build()
+        );
+
+        // Act
+        List<ExpenseView> result = expenseRepository.findPage(
+            user.getId(),
+            LocalDate.of(2026, 2, 1),
+            LocalDate.of(2026, 2, 28),
+            "Food",
+            ExpenseType.EXPENSE,
+            null,
+            null,
+            Limit.of(10)
+        );
+
+        // Assert
+        assertThat(result).extracting(ExpenseView::id).containsExactly(match.getId());
+    }
+
     @Test
-    void findAllByUserId_returnsOnlyExpensesOfThatUser() {
+    void findPage_sendsOnlyThePredicatesThatAreSet() {
+        // Arrange
+        User user = userRepository.save(
+            UserTestDataBuilder.aUser().build()
+        );
+        SqlStatementRecorder.reset();
+
+        // Act
+        expenseRepository.findPage(user.getId(), null, null, null, null, null, null, Limit.of(10));
+        expenseRepository.findPage(
+            user.getId(), null, null, null, null, LocalDate.of(2026, 1, 2), 5L, Limit.of(10));
+
+        // Assert
+        List<String> pages = SqlStatementRecorder.statementsMatching("\\bfrom expense\\b.*\\border by\\b");
+        assertThat(pages).hasSize(2);
+        assertThat(pages).noneMatch(sql -> sql.contains("is null"));
+        assertThat(pages.get(0)).doesNotContain("<");
+        assertThat(pages.get(1)).containsPattern("\\(\\w+\\.date,\\s*\\w+\\.id\\)\\s*<");
+    }
+
+    @Test
+    void streamViewsByUserId_streamsOnlyExpensesOfThatUser() {
         // Arrange
         User user1 = userRepository.save(
             UserTestDataBuilder.aUser().build()
@@ -36,7 +197,7 @@ class ExpenseRepositoryIntegrationTests {
             UserTestDataBuilder.anotherUser().build()
         );
 
-        expenseRepository.saveAll(
+        List<Expense> expensesOfUser1 = expenseRepository.saveAll(
             ExpenseTestDataBuilder.expensesOf(user1)
         );
         expenseRepository.saveAll(
@@ -44,34 +205,44 @@ class ExpenseRepositoryIntegrationTests {
         );
 
         // Act
-        List<Expense> result = expenseRepository.findAllByUserId(user1.getId());
+        List<ExpenseView> result;
+        try (Stream<ExpenseView> stream = expenseRepository.streamViewsByUserId(user1.getId())) {
+            result = stream.toList();
+        }
 
         // Assert
-        assertThat(result)
-            .allMatch(e -> e.getUser().getId().equals(user1.getId()))
-            .hasSize(ExpenseTestDataBuilder.expensesOf(user1).size());
+        assertThat(result).extracting(ExpenseView::id)
+            .containsExactlyInAnyOrderElementsOf(expensesOfUser1.stream().map(Expense::getId).toList());
     }
 
     @Test
-    void findByIdAndUserId_returnsExpenseOnlyIfOwnedByUser() {
+    void computeRollupTotals_groupsAmountsOfUserByMonthCategoryAndType() {
         // Arrange
         User user = userRepository.save(
             UserTestDataBuilder.aUser().build()
         );
-
-        Expense expense = expenseRepository.save(
-            ExpenseTestDataBuilder.anExpense().forUser(user).build()
+        User other = userRepository.save(
+            UserTestDataBuilder.anotherUser().build()
         );
 
-        // Act
-        Optional<Expense> found =
-            expenseRepository.findByIdAndUserId(expense.getId(), user.getId());
+        expenseRepository.saveAll(List.of(
+            ExpenseTestDataBuilder.anExpense().forUser(user).withDate(LocalDate.of(2026, 1, 5))
+                .withCategory("Food").withAmount(new BigDecimal("10.00")).build(),
+            ExpenseTestDataBuilder.anExpense().forUser(user).withDate(LocalDate.of(2026, 1, 20))
+                .withCategory("Food").withAmount(new BigDecimal("5.50")).build(),
+            ExpenseTestDataBuilder.anExpense().forUser(user).withDate(LocalDate.of(2026, 2, 1))
+                .withCategory(null).withAmount(new BigDecimal("800.00")).build(),
+            ExpenseTestDataBuilder.anExpense().forUser(other).withDate(LocalDate.of(2026, 1, 5))
+                .withCategory("Food").withAmount(new BigDecimal("99.00")).build()
+        ));
 
-        Optional<Expense> notFound =
-            expenseRepository.findByIdAndUserId(expense.getId(), 999L);
+        // Act
+        List<RollupTotal> totals = expenseRepository.computeRollupTotals(user.getId());
 
         // Assert
-        assertThat(found).isPresent();
-        assertThat(notFound).isEmpty();
+        assertThat(totals).usingRecursiveFieldByFieldElementComparator().containsExactlyInAnyOrder(
+            new RollupTotal(LocalDate.of(2026, 1, 1), "Food", ExpenseType.EXPENSE, new BigDecimal("15.50"), 2),
+            new RollupTotal(LocalDate.of(2026, 2, 1), "", ExpenseType.EXPENSE, new BigDecimal("800.00"), 1)
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package de.felixalbert.expensetracker.expense.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import de.felixalbert.expensetracker.expense.model.CategorySummary;
+import de.felixalbert.expensetracker.expense.model.ExpenseRollup;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.MonthlySummary;
+import de.felixalbert.expensetracker.expense.model.TypeSummary;
+
+@DataJpaTest
+@ActiveProfiles("jpa-test")
+class ExpenseRollupRepositoryIntegrationTests {
+
+    @Autowired
+    private ExpenseRollupRepository rollupRepository;
+
+    @Test
+    void summarizeQueries_aggregateRollupsOfUserAndSkipEmptyKeys() {
+        // Arrange
+        Long userId = 1L;
+        rollupRepository.saveAll(List.of(
+            new ExpenseRollup(userId, LocalDate.of(2026, 1, 1), "Food", ExpenseType.EXPENSE, new BigDecimal("15.50"), 2),
+            new ExpenseRollup(userId, LocalDate.of(2026, 2, 1), "Food", ExpenseType.EXPENSE, new BigDecimal("4.50"), 1),
+            new ExpenseRollup(userId, LocalDate.of(2026, 2, 1), ExpenseRollup.NO_CATEGORY, ExpenseType.INCOME, new BigDecimal("3000.00"), 1),
+            new ExpenseRollup(userId, LocalDate.of(2026, 2, 1), "Rent", ExpenseType.EXPENSE, new BigDecimal("0.00"), 0),
+            new ExpenseRollup(2L, LocalDate.of(2026, 1, 1), "Food", ExpenseType.EXPENSE, new BigDecimal("99.00"), 1)
+        ));
+
+        // Act
+        List<MonthlySummary> monthly = rollupRepository.summarizeByMonth(userId, LocalDate.of(2026, 2, 1), null);
+        List<CategorySummary> categories = rollupRepository.summarizeByCategory(userId, null, null);
+        List<TypeSummary> totals = rollupRepository.summarizeByType(userId, null, null);
+
+        // Assert
+        assertThat(monthly).usingRecursiveFieldByFieldElementComparator().containsExactly(
+            new MonthlySummary(2026, 2, ExpenseType.EXPENSE, new BigDecimal("4.50"), 1),
+            new MonthlySummary(2026, 2, ExpenseType.INCOME, new BigDecimal("3000.00"), 1)
+        );
+        assertThat(categories).usingRecursiveFieldByFieldElementComparator().containsExactly(
+            new CategorySummary(null, ExpenseType.INCOME, new BigDecimal("3000.00"), 1),
+            new CategorySummary("Food", ExpenseType.EXPENSE, new BigDecimal("20.00"), 3)
+        );
+        assertThat(totals).usingRecursiveFieldByFieldElementComparator().containsExactly(
+            new TypeSummary(ExpenseType.EXPENSE, new BigDecimal("20.00"), 3),
+            new TypeSummary(ExpenseType.INCOME, new BigDecimal("3000.00"), 1)
+        );
+    }
+}
@@ -0,0 +1,118 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import de.felixalbert.expensetracker.expense.exception.BatchTooLargeException;
+import de.felixalbert.expensetracker.expense.model.BatchCreateResult;
+import de.felixalbert.expensetracker.expense.model.BatchItemResult;
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseBatchServiceTests {
+
+    @Mock
+    private ExpenseService expenseService;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private ExpenseBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new ExpenseBatchService(expenseService, validator, 3);
+    }
+
+    @Test
+    void createBatch_mixedItems_insertsValidOnesTogetherAndReportsEachItem() {
+        // Arrange
+        Long userId = 1L;
+        Expense first = ExpenseTestDataBuilder.anExpense().build();
+        Expense invalid = ExpenseTestDataBuilder.anExpense()
+            .withAmount(BigDecimal.valueOf(-5))
+            .withDate(LocalDate.now().plusDays(1))
+            .build();
+        Expense third = ExpenseTestDataBuilder.anExpense().build();
+
+        when(expenseService.createAll(List.of(first, third), userId)).thenReturn(List.of(
+            ExpenseTestDataBuilder.anExpense().withId(10L).build(),
+            ExpenseTestDataBuilder.anExpense().withId(11L).build()
+        ));
+
+        // Act
+        BatchCreateResult result = batchService.createBatch(List.of(first, invalid, third), userId);
+
+        // Assert
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.items()).extracting(BatchItemResult::success).containsExactly(true, false, true);
+        assertThat(result.items()).extracting(BatchItemResult::id).containsExactly(10L, null, 11L);
+        assertThat(result.items().get(1).fieldErrors()).containsOnlyKeys("amount", "date");
+        verify(expenseService).createAll(List.of(first, third), userId);
+    }
+
+    @Test
+    void createBatch_nullItem_isRejectedWithoutFailingTheBatch() {
+        // Arrange
+        Long userId = 1L;
+        Expense valid = ExpenseTestDataBuilder.anExpense().build();
+
+        when(expenseService.createAll(List.of(valid), userId)).thenReturn(List.of(
+            ExpenseTestDataBuilder.anExpense().withId(10L).build()
+        ));
+
+        // Act
+        BatchCreateResult result = batchService.createBatch(Arrays.asList(null, valid), userId);
+
+        // Assert
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.items()).extracting(BatchItemResult::success).containsExactly(false, true);
+        assertThat(result.items().get(0).fieldErrors()).containsOnlyKeys("expense");
+    }
+
+    @Test
+    void createBatch_onlyInvalidItems_doesNotInsert() {
+        // Arrange
+        Expense invalid = ExpenseTestDataBuilder.anExpense().withAmount(null).build();
+
+        // Act
+        BatchCreateResult result = batchService.createBatch(List.of(invalid), 1L);
+
+        // Assert
+        assertThat(result.created()).isZero();
+        assertThat(result.items().get(0).fieldErrors()).containsKey("amount");
+        verify(expenseService, never()).createAll(anyList(), any());
+    }
+
+    @Test
+    void createBatch_tooManyItems_throwsException() {
+        // Arrange
+        List<Expense> expenses = List.of(
+            ExpenseTestDataBuilder.defaultExpense(),
+            ExpenseTestDataBuilder.defaultExpense(),
+            ExpenseTestDataBuilder.defaultExpense(),
+            ExpenseTestDataBuilder.defaultExpense()
+        );
+
+        // Act & Assert
+        assertThrows(BatchTooLargeException.class, () -> batchService.createBatch(expenses, 1L));
+        verifyNoInteractions(expenseService);
+    }
+}
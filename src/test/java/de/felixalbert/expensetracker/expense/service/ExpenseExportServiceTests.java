@@ -0,0 +1,97 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExportFormat;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import tools.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseExportServiceTests {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private ExpenseExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExpenseExportService(expenseRepository, new ObjectMapper());
+    }
+
+    @Test
+    void export_csv_writesHeaderAndEscapedRows() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        ExpenseView plain = view(ExpenseTestDataBuilder.anExpense()
+            .withId(1L)
+            .withAmount(new BigDecimal("12.50"))
+            .withDate(LocalDate.of(2026, 1, 2))
+            .withDescription("Lunch")
+            .build());
+        ExpenseView quoted = view(ExpenseTestDataBuilder.anExpense()
+            .withId(2L)
+            .withAmount(new BigDecimal("3000.00"))
+            .withCategory(null)
+            .withDate(LocalDate.of(2026, 1, 1))
+            .withDescription("Salary, \"bonus\"")
+            .withType(ExpenseType.INCOME)
+            .build());
+        when(expenseRepository.streamViewsByUserId(userId)).thenReturn(Stream.of(plain, quoted));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(userId, ExportFormat.CSV, out);
+
+        // Assert
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "id,date,amount,category,description,type\n"
+                + "1,2026-01-02,12.50,Food,Lunch,EXPENSE\n"
+                + "2,2026-01-01,3000.00,,\"Salary, \"\"bonus\"\"\",INCOME\n"
+        );
+    }
+
+    @Test
+    void export_ndjson_writesOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        ExpenseView expense = view(ExpenseTestDataBuilder.anExpense()
+            .withId(7L)
+            .withAmount(new BigDecimal("10.00"))
+            .build());
+        when(expenseRepository.streamViewsByUserId(userId)).thenReturn(Stream.of(expense, expense));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(userId, ExportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0])
+            .startsWith("{")
+            .contains("\"id\":7", "\"date\":\"2026-01-01\"", "\"type\":\"EXPENSE\"")
+            .doesNotContain("user");
+    }
+
+    private static ExpenseView view(Expense expense) {
+        return ExpenseView.of(expense);
+    }
+}
\ No newline at end of file
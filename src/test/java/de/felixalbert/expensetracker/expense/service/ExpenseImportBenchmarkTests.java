@@ -0,0 +1,117 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.felixalbert.expensetracker.expense.model.ImportResult;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRollupRepository;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import jakarta.validation.Validation;
+
+/**
+ * Import throughput (rows/s) against the H2 test database. Excluded from the
+ * default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({ExpenseService.class, ExpenseRollupService.class})
+@ActiveProfiles("jpa-test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExpenseImportBenchmarkTests {
+
+    private static final int WARMUP_ROWS = 10_000;
+    private static final int ROWS = 200_000;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseRollupRepository rollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void cleanUp() {
+        expenseRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importCsv_throughput() throws IOException {
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        ExpenseImportService importService = new ExpenseImportService(
+            expenseService,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            500,
+            100
+        );
+
+        runImport(importService, writeCsv(WARMUP_ROWS), user.getId());
+
+        Path csv = writeCsv(ROWS);
+        long start = System.nanoTime();
+        ImportResult result = runImport(importService, csv, user.getId());
+        long elapsedNanos = System.nanoTime() - start;
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("CSV import: %d rows in %.2f s (%.0f rows/s)%n", ROWS, seconds, ROWS / seconds);
+
+        assertThat(result.imported()).isEqualTo(ROWS);
+        assertThat(result.rejected()).isZero();
+    }
+
+    private static ImportResult runImport(ExpenseImportService importService, Path csv, Long userId) throws IOException {
+        try (InputStream in = Files.newInputStream(csv)) {
+            return importService.importCsv(in, userId);
+        }
+    }
+
+    private Path writeCsv(int rows) throws IOException {
+        Path file = Files.createTempFile(tempDir, "statement", ".csv");
+        // statements are chronological, so one chunk touches only a few monthly rollups
+        LocalDate start = LocalDate.now().minusYears(5);
+        String[] categories = {"Food", "Rent", "Travel", "Salary", "Utilities"};
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("date,amount,category,description\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write(start.plusDays(i * 1500L / rows).toString());
+                writer.write(',');
+                writer.write(i % 7 == 0 ? "2450.00" : "-" + (i % 300) + ".95");
+                writer.write(',');
+                writer.write(categories[i % categories.length]);
+                writer.write(",\"Booking " + i + ", card payment\"\n");
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,154 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import de.felixalbert.expensetracker.expense.exception.InvalidImportFileException;
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ImportRejection;
+import de.felixalbert.expensetracker.expense.model.ImportResult;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseImportServiceTests {
+
+    @Mock
+    private ExpenseService expenseService;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private ExpenseImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ExpenseImportService(expenseService, validator, 2, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_validRows_insertsInChunks() throws Exception {
+        // Arrange
+        Long userId = 1L;
+        String csv = """
+            date,amount,category,description,type
+            2024-01-05,12.50,Food,Lunch,EXPENSE
+            2024-01-06,1000.00,Salary,"January, net",INCOME
+            2024-01-07,3,,,EXPENSE
+            """;
+
+        ArgumentCaptor<List<Expense>> chunks = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        ImportResult result = importService.importCsv(stream(csv), userId);
+
+        // Assert
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.rejected()).isZero();
+        assertThat(result.rejections()).isEmpty();
+
+        verify(expenseService, times(2)).createAll(chunks.capture(), eq(userId));
+        assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(2, 1);
+
+        Expense income = chunks.getAllValues().get(0).get(1);
+        assertThat(income.getAmount()).isEqualByComparingTo("1000.00");
+        assertThat(income.getDescription()).isEqualTo("January, net");
+        assertThat(income.getType()).isEqualTo(ExpenseType.INCOME);
+
+        Expense noCategory = chunks.getAllValues().get(1).get(0);
+        assertThat(noCategory.getCategory()).isNull();
+        assertThat(noCategory.getDescription()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_withoutTypeColumn_derivesTypeFromSign() throws Exception {
+        // Arrange
+        String csv = "Date,Amount,Description\n"
+            + "2024-02-01,-42.10,\"Supermarket \"\"Fresh\"\"\"\n"
+            + "2024-02-02,2500,Salary\n";
+
+        ArgumentCaptor<List<Expense>> chunk = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        importService.importCsv(stream(csv), 1L);
+
+        // Assert
+        verify(expenseService).createAll(chunk.capture(), eq(1L));
+        List<Expense> expenses = chunk.getValue();
+
+        assertThat(expenses.get(0).getType()).isEqualTo(ExpenseType.EXPENSE);
+        assertThat(expenses.get(0).getAmount()).isEqualByComparingTo(new BigDecimal("42.10"));
+        assertThat(expenses.get(0).getDescription()).isEqualTo("Supermarket \"Fresh\"");
+        assertThat(expenses.get(1).getType()).isEqualTo(ExpenseType.INCOME);
+        assertThat(expenses.get(1).getAmount()).isEqualByComparingTo(new BigDecimal("2500"));
+    }
+
+    @Test
+    void importCsv_invalidRows_areCountedAndReportedUpToLimit() throws Exception {
+        // Arrange
+        String future = LocalDate.now().plusDays(3).toString();
+        String csv = "date,amount,description,type\n"
+            + "2024-03-01,abc,Broken amount,EXPENSE\n"
+            + "2024-03-02,10,\"multi\nline\",EXPENSE\n"
+            + future + ",10,Future,EXPENSE\n"
+            + "2024-03-04,10,Too few columns\n";
+
+        // Act
+        ImportResult result = importService.importCsv(stream(csv), 1L);
+
+        // Assert
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.rejections()).containsExactly(
+            new ImportRejection(2, "Invalid amount 'abc'"),
+            new ImportRejection(5, "date: Date cannot be in the future")
+        );
+
+        verify(expenseService).createAll(anyList(), eq(1L));
+    }
+
+    @Test
+    void importCsv_headerWithoutAmount_throwsInvalidImportFileException() {
+        // Arrange
+        String csv = "date,description\n2024-01-01,Lunch\n";
+
+        // Act & Assert
+        assertThrows(
+            InvalidImportFileException.class,
+            () -> importService.importCsv(stream(csv), 1L)
+        );
+        verifyNoInteractions(expenseService);
+    }
+
+    @Test
+    void importCsv_emptyFile_throwsInvalidImportFileException() {
+        // Act & Assert
+        assertThrows(
+            InvalidImportFileException.class,
+            () -> importService.importCsv(stream(""), 1L)
+        );
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
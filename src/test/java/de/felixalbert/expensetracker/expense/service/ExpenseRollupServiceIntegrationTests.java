@@ -0,0 +1,111 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseRollup;
+import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.model.RollupDrift;
+import de.felixalbert.expensetracker.expense.model.RollupTotal;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRollupRepository;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+
+@DataJpaTest
+@Import(ExpenseRollupService.class)
+@ActiveProfiles("jpa-test")
+class ExpenseRollupServiceIntegrationTests {
+
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private ExpenseRollupRepository rollupRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void addAndSubtract_keepRollupsInStepWithExpenses() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        Expense lunch = expenseRepository.save(ExpenseTestDataBuilder.anExpense().forUser(user)
+            .withDate(LocalDate.of(2026, 1, 5)).withAmount(new BigDecimal("12.50")).build());
+        Expense dinner = expenseRepository.save(ExpenseTestDataBuilder.anExpense().forUser(user)
+            .withDate(LocalDate.of(2026, 1, 20)).withAmount(new BigDecimal("30.00")).build());
+
+        // Act
+        rollupService.add(user.getId(), lunch);
+        rollupService.add(user.getId(), dinner);
+        ExpenseView deleted = expenseRepository.findViewByIdAndUserId(lunch.getId(), user.getId()).orElseThrow();
+        rollupService.subtract(user.getId(), deleted);
+        expenseRepository.delete(lunch);
+
+        // Assert
+        assertThat(rollupRepository.findTotalsByUserId(user.getId()))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactly(new RollupTotal(
+                LocalDate.of(2026, 1, 1), "Food", ExpenseType.EXPENSE, new BigDecimal("30.00"), 1));
+        assertThat(rollupService.verify(user.getId())).isEmpty();
+    }
+
+    @Test
+    void verify_reportsDriftAndRebuildRepairsIt() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        expenseRepository.saveAll(List.of(
+            ExpenseTestDataBuilder.anExpense().forUser(user)
+                .withDate(LocalDate.of(2026, 3, 1)).withAmount(new BigDecimal("20.00")).build(),
+            ExpenseTestDataBuilder.anExpense().forUser(user).withCategory(null)
+                .withDate(LocalDate.of(2026, 3, 2)).withAmount(new BigDecimal("5.00")).build()
+        ));
+
+        // Act
+        List<RollupDrift> drift = rollupService.verify(user.getId());
+        rollupService.rebuild(user.getId());
+
+        // Assert
+        assertThat(drift).hasSize(2);
+        assertThat(drift).allMatch(d -> d.actualCount() == 0 && d.expectedCount() == 1);
+        assertThat(rollupService.verify(user.getId())).isEmpty();
+    }
+
+    @Test
+    void add_emptyCategoryIsRolledUpAsNoCategory() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        Expense empty = expenseRepository.save(ExpenseTestDataBuilder.anExpense().forUser(user).withCategory("")
+            .withDate(LocalDate.of(2026, 4, 1)).withAmount(new BigDecimal("7.00")).build());
+        Expense none = expenseRepository.save(ExpenseTestDataBuilder.anExpense().forUser(user).withCategory(null)
+            .withDate(LocalDate.of(2026, 4, 2)).withAmount(new BigDecimal("3.00")).build());
+
+        // Act
+        rollupService.add(user.getId(), empty);
+        rollupService.add(user.getId(), none);
+
+        // Assert
+        assertThat(empty.getCategory()).isNull();
+        assertThat(rollupRepository.findTotalsByUserId(user.getId()))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactly(new RollupTotal(
+                LocalDate.of(2026, 4, 1), ExpenseRollup.NO_CATEGORY, ExpenseType.EXPENSE, new BigDecimal("10.00"), 2));
+        assertThat(rollupService.verify(user.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,124 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import de.felixalbert.expensetracker.common.persistence.SqlStatementRecorder;
+import de.felixalbert.expensetracker.expense.exception.ExpenseNotFoundException;
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Every expense mutation touches the expense table with exactly one statement, and
+ * create does not load the user.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "de.felixalbert.expensetracker.common.persistence.SqlStatementRecorder")
+@Import({ExpenseService.class, ExpenseRollupService.class})
+@ActiveProfiles("jpa-test")
+class ExpenseServiceStatementCountTests {
+
+    // the expense table itself, not expense_seq, expense_rollups or expense_tombstones
+    private static final String EXPENSE_TABLE = "\\bexpense\\b";
+    private static final String USER_SELECT = "^\\s*select\\b.*\\bfrom users\\b";
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Expense existing;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(UserTestDataBuilder.aUser().build());
+        existing = expenseService.create(ExpenseTestDataBuilder.anExpense().withoutUser().build(), user.getId());
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    void create_insertsWithoutLoadingUser() {
+        // Act
+        expenseService.create(ExpenseTestDataBuilder.anExpense().withoutUser().build(), user.getId());
+        entityManager.flush();
+
+        // Assert
+        assertThat(SqlStatementRecorder.statementsMatching(EXPENSE_TABLE))
+            .singleElement().asString().containsIgnoringCase("insert into expense");
+        assertThat(SqlStatementRecorder.statementsMatching(USER_SELECT)).isEmpty();
+    }
+
+    @Test
+    void update_usesOneOwnershipCheckedStatement() {
+        // Arrange
+        Expense changes = ExpenseTestDataBuilder.anExpense().withoutUser()
+            .withAmount(new BigDecimal("99.00")).withDescription("changed").build();
+
+        // Act
+        ExpenseView result = expenseService.update(existing.getId(), user.getId(), changes);
+        entityManager.flush();
+
+        // Assert
+        List<String> statements = SqlStatementRecorder.statementsMatching(EXPENSE_TABLE);
+        assertThat(statements).singleElement().asString().containsIgnoringCase("update expense");
+        assertThat(result.description()).isEqualTo("changed");
+
+        entityManager.clear();
+        assertThat(expenseRepository.findById(existing.getId()))
+            .hasValueSatisfying(e -> assertThat(e.getAmount()).isEqualByComparingTo("99.00"));
+    }
+
+    @Test
+    void deleteById_usesOneOwnershipCheckedStatement() {
+        // Act
+        expenseService.deleteById(existing.getId(), user.getId());
+        entityManager.flush();
+
+        // Assert
+        assertThat(SqlStatementRecorder.statementsMatching(EXPENSE_TABLE))
+            .singleElement().asString().containsIgnoringCase("delete from expense");
+        assertThat(expenseRepository.existsById(existing.getId())).isFalse();
+    }
+
+    @Test
+    void deleteById_expenseOfOtherUser_throwsNotFoundAfterOneStatement() {
+        // Arrange
+        User other = userRepository.save(UserTestDataBuilder.anotherUser().build());
+        SqlStatementRecorder.reset();
+
+        // Act & Assert
+        assertThrows(
+            ExpenseNotFoundException.class,
+            () -> expenseService.deleteById(existing.getId(), other.getId())
+        );
+
+        assertThat(SqlStatementRecorder.statementsMatching(EXPENSE_TABLE)).hasSize(1);
+        assertThat(expenseRepository.existsById(existing.getId())).isTrue();
+    }
+}
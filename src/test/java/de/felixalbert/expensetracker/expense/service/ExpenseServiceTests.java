@@ -3,22 +3,35 @@ package de.felixalbert.expensetracker.expense.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import de.felixalbert.expensetracker.expense.exception.ExpenseNotFoundException;
+import de.felixalbert.expensetracker.expense.exception.InvalidCursorException;
 import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseCursor;
+import de.felixalbert.expensetracker.expense.model.ExpenseFilter;
+import de.felixalbert.expensetracker.expense.model.ExpensePage;
 import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import de.felixalbert.expensetracker.expense.model.ExpenseTombstone;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
 import de.felixalbert.expensetracker.expense.repository.ExpenseRepository;
+import de.felixalbert.expensetracker.expense.repository.ExpenseTombstoneRepository;
 import de.felixalbert.expensetracker.user.exception.UserNotFoundException;
 import de.felixalbert.expensetracker.user.model.User;
 import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
@@ -34,73 +47,115 @@ class ExpenseServiceTests {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ExpenseRollupService rollupService;
+
+    @Mock
+    private ExpenseTombstoneRepository tombstoneRepository;
+
     @InjectMocks
     private ExpenseService expenseService;
 
-    // ---------- getById ----------
+    // ---------- getViewById ----------
 
-    @Test 
-    void getById_existingExpenseOfUser_returnsExpenseOfUser() {
+    @Test
+    void getViewById_existingExpenseOfUser_returnsProjection() {
         //Arrange
         Long userId = 1L;
-        User user = UserTestDataBuilder.aUser().withId(userId).build();
         Long id = 42L;
-        Expense expense = ExpenseTestDataBuilder.anExpense().withId(id).forUser(user).build();
-        when(expenseRepository.findByIdAndUserId(id, userId)).thenReturn(Optional.of(expense));
+        ExpenseView view = view(ExpenseTestDataBuilder.anExpense().withId(id).build());
+        when(expenseRepository.findViewByIdAndUserId(id, userId)).thenReturn(Optional.of(view));
 
         //Act
-        Expense result = expenseService.getById(id, userId);
+        ExpenseView result = expenseService.getViewById(id, userId);
 
         //Assert
-        assertThat(result).isEqualTo(expense);
-        verify(expenseRepository).findByIdAndUserId(id, userId);
+        assertThat(result).isEqualTo(view);
+        verify(expenseRepository, never()).findById(any());
     }
 
-    @Test 
-    void getById_nonExistingExpenseOfUser_throwsException() {
+    @Test
+    void getViewById_nonExistingExpenseOfUser_throwsException() {
         //Arrange
-        Long userId = 999L;
-        Long Id = 999L;
-        when(expenseRepository.findByIdAndUserId(Id, userId)).thenReturn(Optional.empty());
+        when(expenseRepository.findViewByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         ExpenseNotFoundException ex = assertThrows(
             ExpenseNotFoundException.class,
-            () -> expenseService.getById(Id, userId)
+            () -> expenseService.getViewById(999L, 1L)
         );
-        assertThat(ex.getExpenseId()).isEqualTo(Id);
-        verify(expenseRepository, never()).save(any());
+        assertThat(ex.getExpenseId()).isEqualTo(999L);
     }
 
-    // ---------- getAll ----------
+    // ---------- getPage ----------
 
     @Test
-    void getAll_returnsAllExpensesOfUser() {
+    void getPage_moreRowsThanLimit_returnsLimitedItemsAndNextCursor() {
         //Arrange
         Long userId = 1L;
         User user = UserTestDataBuilder.aUser().withId(userId).build();
-        List<Expense> expenses = ExpenseTestDataBuilder.expensesOf(user);
-        when(expenseRepository.findAllByUserId(userId)).thenReturn(expenses);
+        List<ExpenseView> rows = List.of(
+            view(ExpenseTestDataBuilder.anExpense().withId(3L).withDate(LocalDate.of(2026, 1, 3)).forUser(user).build()),
+            view(ExpenseTestDataBuilder.anExpense().withId(2L).withDate(LocalDate.of(2026, 1, 2)).forUser(user).build()),
+            view(ExpenseTestDataBuilder.anExpense().withId(1L).withDate(LocalDate.of(2026, 1, 1)).forUser(user).build())
+        );
+        when(expenseRepository.findPage(eq(userId), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(Limit.of(3))))
+            .thenReturn(rows);
+
+        //Act
+        ExpensePage result = expenseService.getPage(userId, ExpenseFilter.none(), null, 2);
+
+        //Assert
+        assertThat(result.items()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(ExpenseCursor.decode(result.nextCursor()))
+            .isEqualTo(new ExpenseCursor(LocalDate.of(2026, 1, 2), 2L));
+    }
+
+    @Test
+    void getPage_withCursor_continuesAfterCursorAndReturnsNoCursorOnLastPage() {
+        //Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        ExpenseCursor cursor = new ExpenseCursor(LocalDate.of(2026, 1, 2), 2L);
+        List<ExpenseView> rows = List.of(
+            view(ExpenseTestDataBuilder.anExpense().withId(1L).withDate(LocalDate.of(2026, 1, 1)).forUser(user).build())
+        );
+        when(expenseRepository.findPage(userId, null, null, "Food", null, cursor.date(), cursor.id(), Limit.of(3)))
+            .thenReturn(rows);
 
         //Act
-        List<Expense> result = expenseService.getAll(userId);
+        ExpensePage result = expenseService.getPage(
+            userId, new ExpenseFilter(null, null, "Food", null), cursor.encode(), 2);
 
         //Assert
-        assertThat(result).isEqualTo(expenses);
-        verify(expenseRepository).findAllByUserId(userId);
+        assertThat(result.items()).isEqualTo(rows);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void getPage_malformedCursor_throwsException() {
+        // Act & Assert
+        assertThrows(
+            InvalidCursorException.class,
+            () -> expenseService.getPage(1L, ExpenseFilter.none(), "not-a-cursor", 10)
+        );
+        verifyNoInteractions(expenseRepository);
     }
 
     // ---------- create ----------
 
     @Test
-    void create_existingUser_assignsUserAndSavesExpense() {
+    void create_existingUser_attachesUserReferenceAndSavesExpense() {
         // Arrange
         Long userId = 1L;
         User user = UserTestDataBuilder.aUser().withId(userId).build();
         Expense expense = ExpenseTestDataBuilder.defaultExpense();
 
-        when(userRepository.findById(userId))
-            .thenReturn(Optional.of(user));
+        when(userRepository.incrementDataVersion(userId, 1))
+            .thenReturn(OptionalLong.of(5L));
+
+        when(userRepository.getReferenceById(userId))
+            .thenReturn(user);
 
         when(expenseRepository.save(any(Expense.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
@@ -110,8 +165,10 @@ class ExpenseServiceTests {
         
         // Assert
         assertThat(result.getUser()).isEqualTo(user);
-        verify(userRepository).findById(userId);
+        assertThat(result.getChangeVersion()).isEqualTo(5L);
+        verify(userRepository, never()).findById(any());
         verify(expenseRepository).save(expense);
+        verify(rollupService).add(userId, expense);
     }
 
     @Test
@@ -120,8 +177,8 @@ class ExpenseServiceTests {
         Long userId = 999L;
         Expense expense = ExpenseTestDataBuilder.defaultExpense();
 
-        when(userRepository.findById(userId))
-            .thenReturn(Optional.empty());
+        when(userRepository.incrementDataVersion(userId, 1))
+            .thenReturn(OptionalLong.empty());
 
         // Act & Assert
         UserNotFoundException ex = assertThrows(
@@ -131,49 +188,145 @@ class ExpenseServiceTests {
 
         assertThat(ex.getUserId()).isEqualTo(userId);
         verify(expenseRepository, never()).save(any());
+        verifyNoInteractions(rollupService);
+    }
+
+    // ---------- getDataVersion ----------
+
+    @Test
+    void getDataVersion_existingUser_returnsVersion() {
+        // Arrange
+        Long userId = 1L;
+        when(userRepository.findDataVersionById(userId)).thenReturn(Optional.of(7L));
+
+        // Act
+        long version = expenseService.getDataVersion(userId);
+
+        // Assert
+        assertThat(version).isEqualTo(7L);
+    }
+
+    @Test
+    void getDataVersion_nonExistingUser_throwsException() {
+        // Arrange
+        when(userRepository.findDataVersionById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(
+            UserNotFoundException.class,
+            () -> expenseService.getDataVersion(999L)
+        );
+    }
+
+    // ---------- createAll ----------
+
+    @Test
+    void createAll_existingUser_assignsUserAndOneVersionPerExpenseAndUpdatesRollupsOnce() {
+        // Arrange
+        Long userId = 1L;
+        User user = UserTestDataBuilder.aUser().withId(userId).build();
+        List<Expense> expenses = List.of(
+            ExpenseTestDataBuilder.defaultExpense(),
+            ExpenseTestDataBuilder.defaultExpense()
+        );
+
+        when(userRepository.incrementDataVersion(userId, 2)).thenReturn(OptionalLong.of(12L));
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(expenseRepository.saveAll(expenses)).thenReturn(expenses);
+
+        // Act
+        List<Expense> result = expenseService.createAll(expenses, userId);
+
+        // Assert
+        assertThat(result).allMatch(e -> e.getUser() == user);
+        assertThat(result).extracting(Expense::getChangeVersion).containsExactly(11L, 12L);
+        verify(expenseRepository).saveAll(expenses);
+        verify(rollupService).addAll(userId, expenses);
     }
 
     // ---------- deleteById ----------
  
     @Test
-    void deleteById_existingExpenseOfUser_deletesExpense() {
+    void deleteById_existingExpenseOfUser_deletesExpenseAndWritesTombstone() {
         //Arrange
         Long userId = 1L;
-        User user = UserTestDataBuilder.aUser().withId(userId).build();
         Long id = 42L;
-        Expense expense = ExpenseTestDataBuilder.anExpense().withId(id).forUser(user).build();
-        when(expenseRepository.findByIdAndUserId(id, userId)).thenReturn(Optional.of(expense));
+        ExpenseView deleted = view(ExpenseTestDataBuilder.anExpense().withId(id).build());
+        when(userRepository.incrementDataVersion(userId, 1)).thenReturn(OptionalLong.of(8L));
+        when(expenseRepository.deleteOwned(id, userId)).thenReturn(Optional.of(deleted));
 
         //Act 
         expenseService.deleteById(id, userId);
 
         //Assert
-        verify(expenseRepository).findByIdAndUserId(id, userId);
-        verify(expenseRepository).delete(expense);
+        verify(expenseRepository).deleteOwned(id, userId);
+        verify(rollupService).subtract(userId, deleted);
+        verify(tombstoneRepository).save(argThat((ExpenseTombstone t) ->
+            t.getUserId().equals(userId) && t.getExpenseId().equals(id) && t.getChangeVersion() == 8L
+        ));
+    }
+
+    @Test
+    void deleteById_expenseNotOwnedByUser_throwsExceptionAndWritesNothingElse() {
+        //Arrange
+        Long userId = 1L;
+        Long id = 42L;
+        when(userRepository.incrementDataVersion(userId, 1)).thenReturn(OptionalLong.of(8L));
+        when(expenseRepository.deleteOwned(id, userId)).thenReturn(Optional.empty());
+
+        //Act & Assert
+        assertThrows(
+            ExpenseNotFoundException.class,
+            () -> expenseService.deleteById(id, userId)
+        );
+
+        verifyNoInteractions(tombstoneRepository, rollupService);
     }
 
     // ---------- update ----------
 
     @Test
-    void update_existingExpenseOfUser_updatesAndReturnsExpenseAndDoesNotChangeUser() {
+    void update_existingExpenseOfUser_updatesInOneStatementAndReturnsNewState() {
         //Arrange
         Long userId = 1L;
-        User user = UserTestDataBuilder.aUser().withId(userId).build();
         Long id = 42L;
-        Expense existing = ExpenseTestDataBuilder.anExpense().withId(id).forUser(user).build();
-        Expense updated = ExpenseTestDataBuilder.anExpense().withId(id).forUser(user).withCategory("UPDATED").build();
+        ExpenseView previous = view(ExpenseTestDataBuilder.anExpense().withId(id).build());
+        Expense updated = ExpenseTestDataBuilder.anExpense().withoutUser().withCategory("UPDATED").build();
 
-        when(expenseRepository.findByIdAndUserId(id, userId)).thenReturn(Optional.of(existing));
-        when(expenseRepository.save(existing)).thenReturn(existing);
+        when(userRepository.incrementDataVersion(userId, 1)).thenReturn(OptionalLong.of(9L));
+        when(expenseRepository.updateOwned(id, userId, updated, 9L)).thenReturn(Optional.of(previous));
 
         //Act
-        Expense result = expenseService.update(id, userId, updated);
+        ExpenseView result = expenseService.update(id, userId, updated);
 
         //Assert
-        assertThat(result.getUser()).isEqualTo(user);
-        assertThat(result.getCategory()).isEqualTo(updated.getCategory());
-        verify(expenseRepository).findByIdAndUserId(id, userId);
-        verify(expenseRepository).save(existing);
+        assertThat(result.id()).isEqualTo(id);
+        assertThat(result.category()).isEqualTo("UPDATED");
+        verify(expenseRepository).updateOwned(id, userId, updated, 9L);
+        verify(expenseRepository, never()).findById(any());
+        verify(rollupService).replace(userId, previous, updated);
+    }
+
+    @Test
+    void update_expenseNotOwnedByUser_throwsException() {
+        //Arrange
+        Long userId = 1L;
+        Long id = 42L;
+        Expense updated = ExpenseTestDataBuilder.defaultExpense();
+
+        when(userRepository.incrementDataVersion(userId, 1)).thenReturn(OptionalLong.of(9L));
+        when(expenseRepository.updateOwned(id, userId, updated, 9L)).thenReturn(Optional.empty());
+
+        //Act & Assert
+        assertThrows(
+            ExpenseNotFoundException.class,
+            () -> expenseService.update(id, userId, updated)
+        );
+
+        verifyNoInteractions(rollupService);
     }
 
-}
\ No newline at end of file
+    private static ExpenseView view(Expense expense) {
+        return ExpenseView.of(expense);
+    }
+}
@@ -0,0 +1,56 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.model.MonthlySummary;
+import de.felixalbert.expensetracker.expense.repository.ExpenseRollupRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseSummaryServiceTests {
+
+    @Mock
+    private ExpenseRollupRepository rollupRepository;
+
+    @InjectMocks
+    private ExpenseSummaryService summaryService;
+
+    @Test
+    void getMonthly_monthRange_queriesRollupsByMonthStart() {
+        // Arrange
+        Long userId = 1L;
+        List<MonthlySummary> summaries = List.of(
+            new MonthlySummary(2026, 2, ExpenseType.EXPENSE, new BigDecimal("10.00"), 1)
+        );
+        when(rollupRepository.summarizeByMonth(userId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1)))
+            .thenReturn(summaries);
+
+        // Act
+        List<MonthlySummary> result = summaryService.getMonthly(
+            userId, YearMonth.of(2026, 1), YearMonth.of(2026, 2));
+
+        // Assert
+        assertThat(result).isEqualTo(summaries);
+    }
+
+    @Test
+    void getTotals_noRange_queriesWithoutBounds() {
+        // Act
+        summaryService.getTotals(1L, null, null);
+
+        // Assert
+        verify(rollupRepository).summarizeByType(1L, null, null);
+    }
+}
@@ -0,0 +1,91 @@
+package de.felixalbert.expensetracker.expense.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseChanges;
+import de.felixalbert.expensetracker.expense.model.ExpenseTestDataBuilder;
+import de.felixalbert.expensetracker.expense.model.ExpenseView;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+
+@DataJpaTest
+@Import({ExpenseService.class, ExpenseRollupService.class, ExpenseSyncService.class})
+@ActiveProfiles("jpa-test")
+class ExpenseSyncServiceIntegrationTests {
+
+    @Autowired
+    private ExpenseSyncService syncService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void getChanges_returnsUpsertsAndTombstonesAfterCursor() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        Long userId = user.getId();
+
+        List<Expense> created = expenseService.createAll(List.of(
+            ExpenseTestDataBuilder.anExpense().withoutUser().withDescription("first").build(),
+            ExpenseTestDataBuilder.anExpense().withoutUser().withDescription("second").build(),
+            ExpenseTestDataBuilder.anExpense().withoutUser().withDescription("third").build()
+        ), userId);
+        long cursor = syncService.getChanges(userId, 0, 50).cursor();
+
+        // Act
+        expenseService.update(created.get(0).getId(), userId,
+            ExpenseTestDataBuilder.anExpense().withDescription("first, edited").build());
+        expenseService.deleteById(created.get(1).getId(), userId);
+        ExpenseChanges changes = syncService.getChanges(userId, cursor, 50);
+
+        // Assert
+        assertThat(cursor).isEqualTo(3);
+        assertThat(changes.upserted()).extracting(ExpenseView::description).containsExactly("first, edited");
+        assertThat(changes.deleted()).containsExactly(created.get(1).getId());
+        assertThat(changes.cursor()).isEqualTo(5);
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(syncService.getChanges(userId, changes.cursor(), 50).upserted()).isEmpty();
+    }
+
+    @Test
+    void getChanges_pagesThroughChangesInVersionOrder() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        Long userId = user.getId();
+
+        List<Expense> created = expenseService.createAll(List.of(
+            ExpenseTestDataBuilder.anExpense().withoutUser().withDescription("a").build(),
+            ExpenseTestDataBuilder.anExpense().withoutUser().withDescription("b").build(),
+            ExpenseTestDataBuilder.anExpense().withoutUser().withDescription("c").build()
+        ), userId);
+        expenseService.deleteById(created.get(0).getId(), userId);
+
+        // Act
+        ExpenseChanges first = syncService.getChanges(userId, 0, 2);
+        ExpenseChanges second = syncService.getChanges(userId, first.cursor(), 2);
+
+        // Assert
+        assertThat(first.upserted()).extracting(ExpenseView::description).containsExactly("b", "c");
+        assertThat(first.deleted()).isEmpty();
+        assertThat(first.cursor()).isEqualTo(3);
+        assertThat(first.hasMore()).isTrue();
+
+        assertThat(second.upserted()).isEmpty();
+        assertThat(second.deleted()).containsExactly(created.get(0).getId());
+        assertThat(second.cursor()).isEqualTo(4);
+        assertThat(second.hasMore()).isFalse();
+    }
+}
@@ -0,0 +1,331 @@
+package de.felixalbert.expensetracker.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import de.felixalbert.expensetracker.expense.model.Expense;
+import de.felixalbert.expensetracker.expense.model.ExpenseType;
+import de.felixalbert.expensetracker.expense.service.ExpenseService;
+import de.felixalbert.expensetracker.security.service.JwtService;
+import de.felixalbert.expensetracker.security.service.RefreshTokenService;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Drives the running application over HTTP with a mix of login, list, create, update,
+ * delete and refresh rotation, and prints throughput and p50/p95/p99 latency per endpoint.
+ * The database is H2 in PostgreSQL mode, seeded with {@code load-test.users} users of
+ * {@code load-test.expenses-per-user} expenses each. Every worker acts as one of them,
+ * so with more workers than users several clients share a user's write lock.
+ * {@code load-test.concurrency} is a list; each level is run and reported in turn.
+ * Workers are virtual threads, so the client can hold thousands of connections.
+ *
+ * <p>Excluded from the default build; run before a release with
+ * {@code mvn test -Pload-test}, sizes and duration are set in
+ * {@code application-load-test.yml} or with {@code -Dload-test.<name>=...}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load-test")
+class ApiLoadTests {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final int SEED_CHUNK = 500;
+    private static final String[] CATEGORIES = {"Food", "Rent", "Travel", "Salary", "Utilities"};
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${load-test.users}")
+    private int users;
+
+    @Value("${load-test.expenses-per-user}")
+    private int expensesPerUser;
+
+    @Value("${load-test.concurrency}")
+    private int[] concurrency;
+
+    @Value("${load-test.warmup}")
+    private Duration warmup;
+
+    @Value("${load-test.duration}")
+    private Duration duration;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @Test
+    void mixedScenarios_throughputAndLatency() throws Exception {
+        List<SeededUser> seeded = seed();
+
+        long errors = 0;
+        for (int workers : concurrency) {
+            LatencyRecorder result = run(seeded, workers);
+            System.out.printf(
+                "Load test (%s threads): %d users x %d expenses, %d workers, %s warmup, %s measured%n%s",
+                virtualThreads ? "virtual" : "platform",
+                users, expensesPerUser, workers, warmup, duration, result.report(duration)
+            );
+            errors += result.errors();
+        }
+
+        assertThat(errors).isZero();
+    }
+
+    // sessions are issued directly, so thousands of workers do not start with a login storm on BCrypt
+    private LatencyRecorder run(List<SeededUser> seeded, int workers) throws Exception {
+        List<Worker> clients = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            SeededUser user = seeded.get(i % seeded.size());
+            String accessToken = jwtService.generateToken(user.user());
+            String refreshToken = refreshTokenService.create(user.user()).token();
+            clients.add(new Worker(user, accessToken, refreshToken));
+        }
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        List<Future<LatencyRecorder>> results = new ArrayList<>(workers);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Worker client : clients) {
+                results.add(executor.submit(() -> client.run(warmupEnd, end)));
+            }
+        }
+
+        LatencyRecorder result = new LatencyRecorder();
+        for (Future<LatencyRecorder> worker : results) {
+            result.merge(worker.get());
+        }
+        return result;
+    }
+
+    // users are inserted with one shared hash, expenses through the service so rollups and versions stay consistent
+    private List<SeededUser> seed() {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        LocalDate today = LocalDate.now();
+        List<SeededUser> seeded = new ArrayList<>(users);
+
+        for (int u = 0; u < users; u++) {
+            User user = userRepository.save(new User("load-" + u + "@test.com", passwordHash));
+            List<Long> expenseIds = new ArrayList<>(expensesPerUser);
+
+            for (int from = 0; from < expensesPerUser; from += SEED_CHUNK) {
+                List<Expense> chunk = new ArrayList<>(SEED_CHUNK);
+                for (int i = from; i < Math.min(from + SEED_CHUNK, expensesPerUser); i++) {
+                    chunk.add(expense(today.minusDays(i % 730), i));
+                }
+                expenseService.createAll(chunk, user.getId()).forEach(e -> expenseIds.add(e.getId()));
+            }
+            seeded.add(new SeededUser(user, expenseIds));
+        }
+        return seeded;
+    }
+
+    private static Expense expense(LocalDate date, int i) {
+        return new Expense(
+            new BigDecimal(i % 300 + 1 + ".95"),
+            CATEGORIES[i % CATEGORIES.length],
+            date,
+            "Booking " + i,
+            i % 7 == 0 ? ExpenseType.INCOME : ExpenseType.EXPENSE
+        );
+    }
+
+    private record SeededUser(User user, List<Long> expenseIds) {}
+
+    /**
+     * One simulated client: loops over a weighted mix of requests until the end of the
+     * run, and logs in again when its refresh token is rejected. Requests before the end
+     * of the warmup are not reported.
+     */
+    private final class Worker {
+
+        private final SeededUser user;
+        private final Deque<Long> created = new ArrayDeque<>();
+        private final LatencyRecorder warmupRecorder = new LatencyRecorder();
+        private final LatencyRecorder recorder = new LatencyRecorder();
+
+        private String accessToken;
+        private String refreshToken;
+
+        Worker(SeededUser user, String accessToken, String refreshToken) {
+            this.user = user;
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        LatencyRecorder run(long warmupEnd, long end) throws IOException, InterruptedException {
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                LatencyRecorder current = now < warmupEnd ? warmupRecorder : recorder;
+                if (accessToken == null) {
+                    login(current);
+                    continue;
+                }
+
+                int roll = ThreadLocalRandom.current().nextInt(100);
+                if (roll < 50) {
+                    list(current);
+                } else if (roll < 65) {
+                    create(current);
+                } else if (roll < 80) {
+                    update(current);
+                } else if (roll < 92) {
+                    delete(current);
+                } else if (roll < 98) {
+                    refresh(current);
+                } else {
+                    login(current);
+                }
+            }
+            return recorder;
+        }
+
+        private void login(LatencyRecorder recorder) throws IOException, InterruptedException {
+            String body = "{\"email\":\"" + user.user().getEmail() + "\",\"password\":\"" + PASSWORD + "\"}";
+            HttpResponse<String> response = send(recorder, "POST /auth/login", post("/auth/login", body));
+            if (response.statusCode() == 200) {
+                accept(response);
+            } else {
+                // shed by the password hashing pool, back off before the next attempt
+                Thread.sleep(50);
+            }
+        }
+
+        private void refresh(LatencyRecorder recorder) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(uri("/auth/refresh"))
+                .header("Cookie", "refreshToken=" + refreshToken)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+            HttpResponse<String> response = send(recorder, "POST /auth/refresh", request);
+            if (response.statusCode() == 200) {
+                accept(response);
+            } else {
+                accessToken = null;
+            }
+        }
+
+        private void list(LatencyRecorder recorder) throws IOException, InterruptedException {
+            send(recorder, "GET /api/expenses", authorized("/api/expenses?limit=50").GET().build());
+        }
+
+        private void create(LatencyRecorder recorder) throws IOException, InterruptedException {
+            HttpRequest request = authorized("/api/expenses")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(expenseJson()))
+                .build();
+            HttpResponse<String> response = send(recorder, "POST /api/expenses", request);
+            if (response.statusCode() == 201) {
+                created.push(OBJECT_MAPPER.readTree(response.body()).get("id").longValue());
+            }
+        }
+
+        // seeded expenses are updated but never deleted, so the listed data set keeps its size
+        private void update(LatencyRecorder recorder) throws IOException, InterruptedException {
+            List<Long> ids = user.expenseIds();
+            Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            HttpRequest request = authorized("/api/expenses/" + id)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(expenseJson()))
+                .build();
+            send(recorder, "PUT /api/expenses/{id}", request);
+        }
+
+        private void delete(LatencyRecorder recorder) throws IOException, InterruptedException {
+            Long id = created.poll();
+            if (id == null) {
+                create(recorder);
+                return;
+            }
+            send(recorder, "DELETE /api/expenses/{id}", authorized("/api/expenses/" + id).DELETE().build());
+        }
+
+        private HttpResponse<String> send(LatencyRecorder recorder, String endpoint, HttpRequest request)
+                throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        }
+
+        // the refresh cookie is Secure, so it is passed on by hand instead of through a cookie manager
+        private void accept(HttpResponse<String> response) {
+            accessToken = OBJECT_MAPPER.readTree(response.body()).get("accessToken").stringValue();
+            response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("refreshToken="))
+                .findFirst()
+                .ifPresent(cookie -> refreshToken = cookie.substring("refreshToken=".length(), cookie.indexOf(';')));
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + accessToken);
+        }
+
+        private HttpRequest post(String path, String json) {
+            return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        }
+
+        private String expenseJson() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return "{\"amount\":" + (random.nextInt(500) + 1) + ".50"
+                + ",\"category\":\"" + CATEGORIES[random.nextInt(CATEGORIES.length)] + "\""
+                + ",\"date\":\"" + LocalDate.now().minusDays(random.nextInt(365)) + "\""
+                + ",\"description\":\"Load test\",\"type\":\"EXPENSE\"}";
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
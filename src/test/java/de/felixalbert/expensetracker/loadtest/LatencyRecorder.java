@@ -0,0 +1,104 @@
+package de.felixalbert.expensetracker.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes per endpoint. Each load test worker owns one recorder, so
+ * recording takes no lock; the recorders are merged once the run is over.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    void record(String endpoint, long nanos, int status) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, status);
+    }
+
+    void merge(LatencyRecorder other) {
+        other.samples.forEach((endpoint, theirs) ->
+            samples.computeIfAbsent(endpoint, key -> new Samples()).addAll(theirs));
+    }
+
+    long errors() {
+        return samples.values().stream().mapToLong(s -> s.errors).sum();
+    }
+
+    String report(Duration duration) {
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        StringBuilder report = new StringBuilder(String.format(
+            "%-26s %8s %9s %8s %8s %8s %8s %8s %6s %6s%n",
+            "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "mean ms", "shed", "errors"
+        ));
+
+        Samples total = new Samples();
+        samples.forEach((endpoint, s) -> {
+            report.append(row(endpoint, s, seconds));
+            total.addAll(s);
+        });
+        report.append(row("total", total, seconds));
+        return report.toString();
+    }
+
+    private static String row(String endpoint, Samples s, double seconds) {
+        long[] sorted = Arrays.copyOf(s.nanos, s.count);
+        Arrays.sort(sorted);
+        return String.format(
+            "%-26s %8d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %6d %6d%n",
+            endpoint, s.count, s.count / seconds,
+            millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)), millis(percentile(sorted, 0.99)),
+            millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+            millis(s.count == 0 ? 0 : s.totalNanos / s.count),
+            s.shed, s.errors
+        );
+    }
+
+    // nearest rank, exact because every sample is kept
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(p * sorted.length) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private long totalNanos;
+        private long shed;
+        private long errors;
+
+        void add(long latency, int status) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            totalNanos += latency;
+
+            // 429 and 503 are the server shedding load on purpose, everything else non-2xx is a failure
+            if (status == 429 || status == 503) {
+                shed++;
+            } else if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            totalNanos += other.totalNanos;
+            shed += other.shed;
+            errors += other.errors;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package de.felixalbert.expensetracker.loadtest;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link ApiLoadTests} against the {@code virtual-threads} profile, so one
+ * {@code mvn test -Pload-test} run reports platform and virtual request threads
+ * side by side for every concurrency level.
+ */
+@ActiveProfiles("virtual-threads")
+class VirtualThreadApiLoadTests extends ApiLoadTests {
+}
@@ -0,0 +1,92 @@
+package de.felixalbert.expensetracker.security.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import de.felixalbert.expensetracker.security.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    // encodes by blocking until released, so the pool can be filled deterministically
+    private final PasswordEncoder blockingDelegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    };
+
+    private final BoundedPasswordEncoder encoder =
+        new BoundedPasswordEncoder(blockingDelegate, 1, 1, Duration.ofSeconds(2), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void matches_runsOnPoolAndRecordsLatency() {
+        // Act
+        boolean matches = encoder.matches("secret", "hash:secret");
+
+        // Assert
+        assertThat(matches).isTrue();
+        assertThat(meterRegistry.get("auth.password_hashing").tag("operation", "matches").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void encode_poolAndQueueFull_failsFastWithRetryAfter() throws Exception {
+        // Arrange
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.encode("third"))
+            .isInstanceOf(PasswordHashingOverloadedException.class)
+            .satisfies(ex -> assertThat(((PasswordHashingOverloadedException) ex).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(2)));
+        assertThat(meterRegistry.get("auth.password_hashing.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (meterRegistry.get("auth.password_hashing.queue").gauge().value() >= depth) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("queue never reached depth " + depth);
+    }
+}
@@ -0,0 +1,57 @@
+package de.felixalbert.expensetracker.security.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+
+import de.felixalbert.expensetracker.common.exception.ApiError;
+import tools.jackson.databind.ObjectMapper;
+
+class JwtAuthenticationEntryPointTests {
+
+    private final JwtAuthenticationEntryPoint entryPoint = new JwtAuthenticationEntryPoint();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void commence_withoutAuthError_writesUnauthorizedAsJackson() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        entryPoint.commence(request, response, new InsufficientAuthenticationException("test"));
+
+        // Assert
+        ApiError error = assertJacksonEquivalent(response.getContentAsString());
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(error.error()).isEqualTo("UNAUTHORIZED");
+        assertThat(error.path()).isEqualTo("/api/expenses");
+    }
+
+    @Test
+    void commence_expiredToken_writesTokenExpiredWithEscapedPath() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses/\"x\\ü");
+        request.setAttribute(JwtAuthenticationEntryPoint.AUTH_ERROR_ATTRIBUTE, JwtAuthenticationEntryPoint.TOKEN_EXPIRED);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        entryPoint.commence(request, response, new InsufficientAuthenticationException("test"));
+
+        // Assert
+        ApiError error = assertJacksonEquivalent(response.getContentAsString());
+        assertThat(error.error()).isEqualTo("TOKEN_EXPIRED");
+        assertThat(error.message()).isEqualTo("Session expired. Please log in again.");
+        assertThat(error.path()).isEqualTo("/api/expenses/\"x\\ü");
+    }
+
+    // the pre-encoded body must be exactly what serializing the same ApiError gives
+    private ApiError assertJacksonEquivalent(String body) {
+        ApiError error = objectMapper.readValue(body, ApiError.class);
+        assertThat(body).isEqualTo(objectMapper.writeValueAsString(error));
+        return error;
+    }
+}
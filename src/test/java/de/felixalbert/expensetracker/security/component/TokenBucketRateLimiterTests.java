@@ -0,0 +1,35 @@
+package de.felixalbert.expensetracker.security.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTests {
+
+    @Test
+    void tryAcquire_admitsBurstThenRejectsWithWaitTime() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, 100);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("key")).isZero();
+        }
+        assertThat(limiter.tryAcquire("key"))
+            .isPositive()
+            .isLessThanOrEqualTo(Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void tryAcquire_keysHaveSeparateBuckets() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 100);
+        limiter.tryAcquire("a");
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+}
@@ -0,0 +1,63 @@
+package de.felixalbert.expensetracker.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "server.forward-headers-strategy=native",
+        "auth.rate-limit.ip.burst=1",
+        "auth.rate-limit.ip.per-minute=1"
+    }
+)
+@ActiveProfiles("test")
+class AuthRateLimitFilterIntegrationTests {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void forwardedClientIps_getSeparateBuckets() throws Exception {
+        // Act
+        int first = post("203.0.113.1");
+        int sameClient = post("203.0.113.1");
+        int otherClient = post("203.0.113.2");
+
+        // Assert
+        assertThat(first).isNotEqualTo(429);
+        assertThat(sameClient).isEqualTo(429);
+        assertThat(otherClient).isNotEqualTo(429);
+    }
+
+    @Test
+    void prependedForwardedEntries_doNotChangeTheBucket() throws Exception {
+        // Arrange
+        post("203.0.113.10");
+
+        // Act (only the entry added by the trusted proxy counts)
+        int spoofed = post("198.51.100.7, 203.0.113.10");
+
+        // Assert
+        assertThat(spoofed).isEqualTo(429);
+    }
+
+    private int post(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/logout"))
+            .header("X-Forwarded-For", forwardedFor)
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
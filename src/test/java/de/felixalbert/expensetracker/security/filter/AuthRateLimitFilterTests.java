@@ -0,0 +1,156 @@
+package de.felixalbert.expensetracker.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+class AuthRateLimitFilterTests {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // burst of 2 per IP and 1 per email, refilling once a minute
+    private final AuthRateLimitFilter filter = new AuthRateLimitFilter(
+        true, 2, 1, 1, 1, 100, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), OBJECT_MAPPER
+    );
+
+    @Test
+    void ipOverLimit_isRejectedWith429AndRetryAfter() throws Exception {
+        // Arrange
+        filter.doFilter(refresh("10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(refresh("10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(refresh("10.0.0.1"), response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+        JsonNode body = OBJECT_MAPPER.readTree(response.getContentAsString());
+        assertThat(body.get("status").intValue()).isEqualTo(429);
+        assertThat(body.get("error").stringValue()).isEqualTo("TOO_MANY_REQUESTS");
+        assertThat(body.get("path").stringValue()).isEqualTo("/auth/refresh");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void emailOverLimit_isRejectedFromAnyIp() throws Exception {
+        // Arrange
+        filter.doFilter(login("10.0.0.1", "Test@Test.com"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(login("10.0.0.2", "test@test.com"), response, new MockFilterChain());
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void admittedLogin_passesUnchangedBodyToChain() throws Exception {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(login("10.0.0.1", "test@test.com"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(body).isEqualTo(loginBody("test@test.com"));
+    }
+
+    @Test
+    void admittedLogin_bodyCanBeReadWithReadListener() throws Exception {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(login("10.0.0.1", "test@test.com"), new MockHttpServletResponse(), chain);
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allRead = new boolean[1];
+
+        // Act
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                int n;
+                while (input.isReady() && (n = input.read(buffer)) != -1) {
+                    read.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        });
+
+        // Assert
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(loginBody("test@test.com"));
+        assertThat(allRead[0]).isTrue();
+    }
+
+    @Test
+    void zeroPerMinute_isRejectedAtStartup() {
+        // Act & Assert
+        assertThatThrownBy(() -> new AuthRateLimitFilter(
+            true, 2, 0, 1, 1, 100, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), OBJECT_MAPPER
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("auth.rate-limit.ip.per-minute");
+    }
+
+    @Test
+    void nonAuthPath_isNotLimited() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+            request.setRemoteAddr("10.0.0.1");
+            filter.doFilter(request, response, new MockFilterChain());
+        }
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private static MockHttpServletRequest refresh(String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/refresh");
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    private static MockHttpServletRequest login(String ip, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(loginBody(email).getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String loginBody(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"password123\"}";
+    }
+}
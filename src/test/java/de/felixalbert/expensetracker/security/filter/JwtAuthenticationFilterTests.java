@@ -0,0 +1,155 @@
+package de.felixalbert.expensetracker.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import de.felixalbert.expensetracker.security.component.JwtAuthenticationEntryPoint;
+import de.felixalbert.expensetracker.security.model.CustomUserDetails;
+import de.felixalbert.expensetracker.security.model.JwtClaims;
+import de.felixalbert.expensetracker.security.service.JwtService;
+import de.felixalbert.expensetracker.security.service.TokenRevocationService;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTests {
+
+    private static final String TOKEN = "token";
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtClaims claims = new JwtClaims(
+        "test@test.com", 7L, List.of("ROLE_USER"), Instant.now(), Instant.now().plusSeconds(900), "jti-1"
+    );
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_buildsPrincipalFromClaimsWithoutLoadingUser() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = filter(true);
+        when(jwtService.validate(TOKEN)).thenReturn(claims);
+
+        // Act
+        filter.doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("test@test.com");
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void defaultMode_loadsUserFromUserDetailsService() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = filter(false);
+        when(jwtService.validate(TOKEN)).thenReturn(claims);
+        when(userDetailsService.loadUserByUsername("test@test.com"))
+            .thenReturn(new CustomUserDetails(UserTestDataBuilder.aUser().withId(7L).build()));
+
+        // Act
+        filter.doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(userDetailsService).loadUserByUsername("test@test.com");
+    }
+
+    @Test
+    void revokedToken_isNotAuthenticated() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = filter(true);
+        when(jwtService.validate(TOKEN)).thenReturn(claims);
+        when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+
+        // Act
+        filter.doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void expiredToken_marksRequestWithoutValidating() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = filter(true);
+        when(jwtService.isExpired(TOKEN)).thenReturn(true);
+        MockHttpServletRequest request = bearerRequest();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(request.getAttribute(JwtAuthenticationEntryPoint.AUTH_ERROR_ATTRIBUTE))
+            .isEqualTo(JwtAuthenticationEntryPoint.TOKEN_EXPIRED);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(jwtService, never()).validate(any());
+    }
+
+    @Test
+    void invalidToken_continuesUnauthenticated() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = filter(true);
+        when(jwtService.validate(TOKEN)).thenThrow(new MalformedJwtException("bad"));
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(bearerRequest(), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get("auth.jwt.validations").tag("result", "invalid").counter().count()).isEqualTo(1);
+    }
+
+    private JwtAuthenticationFilter filter(boolean stateless) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        return new JwtAuthenticationFilter(
+            jwtService, userDetailsService, tokenRevocationService, stateless, beanFactory.getBeanProvider(MeterRegistry.class)
+        );
+    }
+
+    private static MockHttpServletRequest bearerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package de.felixalbert.expensetracker.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import de.felixalbert.expensetracker.common.persistence.ReadRouting;
+import de.felixalbert.expensetracker.common.persistence.ReadYourWritesTracker;
+import de.felixalbert.expensetracker.security.model.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+class ReadYourWritesFilterTests {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(
+        new ReadYourWritesTracker(Duration.ofSeconds(5), 100)
+    );
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOfUserWithoutRecentWrite_mayUseReplica() throws Exception {
+        // Arrange
+        authenticateAs(7L);
+
+        // Act
+        boolean primary = routesToPrimary("GET");
+
+        // Assert
+        assertThat(primary).isFalse();
+    }
+
+    @Test
+    void mutation_runsOnPrimaryAndKeepsTheUsersReadsThereForTheWindow() throws Exception {
+        // Arrange
+        authenticateAs(7L);
+
+        // Act
+        boolean write = routesToPrimary("PUT");
+        boolean ownRead = routesToPrimary("GET");
+        authenticateAs(8L);
+        boolean otherUsersRead = routesToPrimary("GET");
+
+        // Assert
+        assertThat(write).isTrue();
+        assertThat(ownRead).isTrue();
+        assertThat(otherUsersRead).isFalse();
+        assertThat(ReadRouting.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void readWithLastWriteCookieFromAnotherInstance_usesPrimaryWithinTheWindow() throws Exception {
+        // Arrange
+        authenticateAs(7L);
+        ReadYourWritesFilter otherInstance = new ReadYourWritesFilter(
+            new ReadYourWritesTracker(Duration.ofSeconds(5), 100)
+        );
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        otherInstance.doFilter(new MockHttpServletRequest("POST", "/api/expenses"), writeResponse, (request, response) -> {});
+        Cookie lastWrite = writeResponse.getCookie(ReadYourWritesFilter.COOKIE);
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 10_000));
+
+        // Act
+        boolean withCookie = routesToPrimary("GET", lastWrite);
+        boolean withExpiredCookie = routesToPrimary("GET", expired);
+
+        // Assert
+        assertThat(lastWrite).isNotNull();
+        assertThat(lastWrite.isHttpOnly()).isTrue();
+        assertThat(withCookie).isTrue();
+        assertThat(withExpiredCookie).isFalse();
+    }
+
+    private boolean routesToPrimary(String method, Cookie... cookies) throws Exception {
+        boolean[] primary = new boolean[1];
+        FilterChain chain = (request, response) -> primary[0] = ReadRouting.isPrimaryRequired();
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/expenses");
+        if (cookies.length > 0) {
+            request.setCookies(cookies);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return primary[0];
+    }
+
+    private static void authenticateAs(Long userId) {
+        CustomUserDetails user = new CustomUserDetails(userId, "user" + userId + "@test.com");
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, List.of())
+        );
+    }
+}
@@ -0,0 +1,69 @@
+package de.felixalbert.expensetracker.security.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import de.felixalbert.expensetracker.common.persistence.PostgreSqlJpaTest;
+import de.felixalbert.expensetracker.security.model.RefreshToken;
+import de.felixalbert.expensetracker.security.model.RevokedRefreshToken;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+// the data-modifying CTE of RefreshTokenRevocationRepositoryImpl; H2 runs the final table variant instead
+@PostgreSqlJpaTest
+class RefreshTokenRevocationRepositoryPostgreSqlTests {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void revokeActive_revokesOnceAndReturnsUserAndExpiry() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        Instant expiresAt = Instant.now().plus(30, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS);
+        byte[] hash = new byte[32];
+        hash[0] = 1;
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash);
+        token.setExpiresAt(expiresAt);
+        token.setRevoked(false);
+        refreshTokenRepository.save(token);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Optional<RevokedRefreshToken> revoked = refreshTokenRepository.revokeActive(hash);
+        Optional<RevokedRefreshToken> again = refreshTokenRepository.revokeActive(hash);
+        entityManager.clear();
+
+        // Assert
+        assertThat(revoked).contains(new RevokedRefreshToken(user.getId(), user.getEmail(), expiresAt));
+        assertThat(again).isEmpty();
+        assertThat(refreshTokenRepository.findAll()).singleElement().extracting(RefreshToken::isRevoked).isEqualTo(true);
+    }
+
+    @Test
+    void revokeActive_unknownToken_returnsEmpty() {
+        // Act
+        Optional<RevokedRefreshToken> revoked = refreshTokenRepository.revokeActive(new byte[32]);
+
+        // Assert
+        assertThat(revoked).isEmpty();
+    }
+}
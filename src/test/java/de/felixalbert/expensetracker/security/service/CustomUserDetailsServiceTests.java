@@ -0,0 +1,118 @@
+package de.felixalbert.expensetracker.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import de.felixalbert.expensetracker.user.event.UserChangedEvent;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTests {
+
+    private static final String EMAIL = "test@test.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        userDetailsService = new CustomUserDetailsService(
+            userRepository, 100, Duration.ofMinutes(5), beanFactory.getBeanProvider(MeterRegistry.class)
+        );
+    }
+
+    @Test
+    void loadUserByUsername_repeatedLoad_queriesRepositoryOnce() {
+        // Arrange
+        User user = UserTestDataBuilder.aUser().withId(1L).withEmail(EMAIL).build();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        // Act
+        UserDetails first = userDetailsService.loadUserByUsername(EMAIL);
+        UserDetails second = userDetailsService.loadUserByUsername(EMAIL);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CustomUserDetailsService.CACHE_NAME)
+            .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void onUserChanged_evictsCachedUser() {
+        // Arrange
+        User user = UserTestDataBuilder.aUser().withId(1L).withEmail(EMAIL).build();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        // Act
+        userDetailsService.onUserChanged(new UserChangedEvent(EMAIL));
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void loadUserByUsername_unknownEmail_throwsAndIsNotCached() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL))
+            .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL))
+            .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void loadUserByUsername_concurrentMisses_shareOneLoad() throws Exception {
+        // Arrange
+        User user = UserTestDataBuilder.aUser().withId(1L).withEmail(EMAIL).build();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(userRepository.findByEmail(EMAIL)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return Optional.of(user);
+        });
+
+        // Act
+        CompletableFuture<UserDetails> first = CompletableFuture.supplyAsync(() -> userDetailsService.loadUserByUsername(EMAIL));
+        loadStarted.await(5, TimeUnit.SECONDS);
+        CompletableFuture<UserDetails> second = CompletableFuture.supplyAsync(() -> userDetailsService.loadUserByUsername(EMAIL));
+        Thread.sleep(50);
+        releaseLoad.countDown();
+
+        // Assert
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+}
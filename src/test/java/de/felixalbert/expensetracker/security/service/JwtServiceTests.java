@@ -0,0 +1,84 @@
+package de.felixalbert.expensetracker.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import de.felixalbert.expensetracker.security.model.JwtClaims;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+class JwtServiceTests {
+
+    private static final String SECRET = "test-jwt-secret-123456789012345678901234567890";
+
+    private final JwtService jwtService = new JwtService(SECRET, Duration.ofMinutes(15));
+
+    @Test
+    void validate_validToken_returnsClaims() {
+        // Arrange
+        String token = jwtService.generateToken("test@test.com");
+
+        // Act
+        JwtClaims claims = jwtService.validate(token);
+
+        // Assert
+        assertThat(claims.username()).isEqualTo("test@test.com");
+        assertThat(claims.expiresAt()).isAfter(Instant.now());
+        assertThat(claims.issuedAt()).isBefore(claims.expiresAt());
+    }
+
+    @Test
+    void validate_tokenOfUser_carriesUserIdAndRoles() {
+        // Arrange
+        User user = UserTestDataBuilder.aUser().withId(7L).build();
+        String token = jwtService.generateToken(user);
+
+        // Act
+        JwtClaims claims = jwtService.validate(token);
+
+        // Assert
+        assertThat(claims.username()).isEqualTo(user.getEmail());
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.roles()).containsExactly("ROLE_USER");
+        assertThat(claims.tokenId()).isNotBlank();
+    }
+
+    @Test
+    void validate_expiredToken_throwsExpiredJwtException() {
+        // Arrange
+        JwtService expiredIssuer = new JwtService(SECRET, Duration.ofMinutes(-1));
+        String token = expiredIssuer.generateToken("test@test.com");
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtService.validate(token));
+    }
+
+    @Test
+    void isExpired_detectsExpiryWithoutThrowing() {
+        // Arrange
+        JwtService expiredIssuer = new JwtService(SECRET, Duration.ofMinutes(-1));
+
+        // Act & Assert
+        assertThat(jwtService.isExpired(expiredIssuer.generateToken("test@test.com"))).isTrue();
+        assertThat(jwtService.isExpired(jwtService.generateToken("test@test.com"))).isFalse();
+        assertThat(jwtService.isExpired("not-a-token")).isFalse();
+        assertThat(jwtService.isExpired("a.%%%.b")).isFalse();
+    }
+
+    @Test
+    void validate_tokenSignedWithOtherKey_throwsJwtException() {
+        // Arrange
+        JwtService otherIssuer = new JwtService("another-secret-123456789012345678901234567890", Duration.ofMinutes(15));
+        String token = otherIssuer.generateToken("test@test.com");
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtService.validate(token));
+    }
+}
@@ -0,0 +1,118 @@
+package de.felixalbert.expensetracker.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import de.felixalbert.expensetracker.security.model.RefreshToken;
+import de.felixalbert.expensetracker.security.model.RevokedAccessToken;
+import de.felixalbert.expensetracker.security.repository.RefreshTokenRepository;
+import de.felixalbert.expensetracker.security.repository.RevokedAccessTokenRepository;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ActiveProfiles("jpa-test")
+class RefreshTokenPurgeJobIntegrationTests {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RefreshTokenPurgeJob purgeJob;
+    private User user;
+    private int tokenCounter;
+
+    @BeforeEach
+    void setUp() {
+        purgeJob = purgeJob(true);
+        user = userRepository.save(UserTestDataBuilder.aUser().build());
+    }
+
+    @Test
+    void purge_deletesRevokedAndLongExpiredTokensInBatches() {
+        // Arrange
+        Instant now = Instant.now();
+        for (int i = 0; i < 3; i++) {
+            saveToken(now.minus(Duration.ofDays(10)), false);
+        }
+        for (int i = 0; i < 2; i++) {
+            saveToken(now.plus(Duration.ofDays(20)), true);
+        }
+        RefreshToken active = saveToken(now.plus(Duration.ofDays(20)), false);
+        RefreshToken recentlyExpired = saveToken(now.minus(Duration.ofDays(1)), false);
+
+        // Act
+        long deleted = purgeJob.purge();
+
+        // Assert
+        assertThat(deleted).isEqualTo(5);
+        assertThat(refreshTokenRepository.findAll())
+            .extracting(RefreshToken::getExpiresAt)
+            .containsExactlyInAnyOrder(active.getExpiresAt(), recentlyExpired.getExpiresAt());
+        assertThat(meterRegistry.get("auth.refresh_tokens.purged").counter().count()).isEqualTo(5.0);
+    }
+
+    @Test
+    void run_recordsDurationAndDeletesExpiredAccessTokenRevocations() {
+        // Arrange
+        Instant now = Instant.now();
+        revokedAccessTokenRepository.saveAndFlush(new RevokedAccessToken("expired-jti", now.minusSeconds(60)));
+        revokedAccessTokenRepository.saveAndFlush(new RevokedAccessToken("active-jti", now.plusSeconds(600)));
+
+        // Act
+        purgeJob.run();
+
+        // Assert
+        assertThat(meterRegistry.get("auth.refresh_tokens.purge").timer().count()).isEqualTo(1);
+        assertThat(revokedAccessTokenRepository.findAll())
+            .extracting(RevokedAccessToken::getTokenId)
+            .containsExactly("active-jti");
+    }
+
+    @Test
+    void run_leavesAccessTokenRevocationsAloneWhenRevocationIsNotPersistent() {
+        // Arrange
+        revokedAccessTokenRepository.saveAndFlush(
+            new RevokedAccessToken("expired-jti", Instant.now().minusSeconds(60)));
+
+        // Act
+        purgeJob(false).run();
+
+        // Assert
+        assertThat(revokedAccessTokenRepository.findAll())
+            .extracting(RevokedAccessToken::getTokenId)
+            .containsExactly("expired-jti");
+    }
+
+    private RefreshTokenPurgeJob purgeJob(boolean persistentRevocation) {
+        return new RefreshTokenPurgeJob(
+            refreshTokenRepository, revokedAccessTokenRepository, Duration.ofDays(7), 2,
+            persistentRevocation, meterRegistry);
+    }
+
+    private RefreshToken saveToken(Instant expiresAt, boolean revoked) {
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(RefreshTokenService.hash("token-" + tokenCounter++));
+        token.setExpiresAt(expiresAt);
+        token.setRevoked(revoked);
+        return refreshTokenRepository.saveAndFlush(token);
+    }
+}
@@ -0,0 +1,127 @@
+package de.felixalbert.expensetracker.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import de.felixalbert.expensetracker.common.persistence.SqlStatementRecorder;
+import de.felixalbert.expensetracker.security.exception.InvalidRefreshTokenException;
+import de.felixalbert.expensetracker.security.exception.RefreshTokenExpiredException;
+import de.felixalbert.expensetracker.security.model.IssuedRefreshToken;
+import de.felixalbert.expensetracker.security.model.RefreshToken;
+import de.felixalbert.expensetracker.security.repository.RefreshTokenRepository;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "de.felixalbert.expensetracker.common.persistence.SqlStatementRecorder")
+@Import(RefreshTokenService.class)
+@ActiveProfiles("jpa-test")
+class RefreshTokenServiceIntegrationTests {
+
+    private static final String REFRESH_TOKENS_TABLE = "\\brefresh_tokens\\b";
+    private static final String USER_SELECT = "^\\s*select\\b.*\\bfrom users\\b";
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(UserTestDataBuilder.aUser().build());
+    }
+
+    @Test
+    void create_storesOnlyTheHashOfTheToken() {
+        // Act
+        IssuedRefreshToken issued = refreshTokenService.create(user);
+        entityManager.flush();
+
+        // Assert
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        assertThat(stored.getTokenHash()).hasSize(32).isEqualTo(RefreshTokenService.hash(issued.token()));
+        assertThat(issued.userId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void rotate_revokesAndInsertsWithTwoStatements() {
+        // Arrange
+        IssuedRefreshToken issued = refreshTokenService.create(user);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.reset();
+
+        // Act
+        IssuedRefreshToken rotated = refreshTokenService.rotate(issued.token());
+        entityManager.flush();
+
+        // Assert
+        List<String> statements = SqlStatementRecorder.statementsMatching(REFRESH_TOKENS_TABLE);
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).containsIgnoringCase("update refresh_tokens");
+        assertThat(statements.get(1)).containsIgnoringCase("insert into refresh_tokens");
+        assertThat(SqlStatementRecorder.statementsMatching(USER_SELECT)).isEmpty();
+        assertThat(rotated.userId()).isEqualTo(user.getId());
+        assertThat(rotated.email()).isEqualTo(user.getEmail());
+        assertThat(rotated.token()).isNotEqualTo(issued.token());
+    }
+
+    @Test
+    void rotate_sameTokenTwice_rejectsSecondRotation() {
+        // Arrange
+        IssuedRefreshToken issued = refreshTokenService.create(user);
+        refreshTokenService.rotate(issued.token());
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(issued.token()));
+    }
+
+    @Test
+    void rotate_unknownToken_throwsInvalidRefreshTokenException() {
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown"));
+    }
+
+    @Test
+    void rotate_expiredToken_throwsRefreshTokenExpiredException() {
+        // Arrange
+        IssuedRefreshToken issued = refreshTokenService.create(user);
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        stored.setExpiresAt(Instant.now().minusSeconds(60));
+        entityManager.flush();
+
+        // Act & Assert
+        assertThrows(RefreshTokenExpiredException.class, () -> refreshTokenService.rotate(issued.token()));
+    }
+
+    @Test
+    void revokeByToken_returnsUserIdOnlyWhileActive() {
+        // Arrange
+        IssuedRefreshToken issued = refreshTokenService.create(user);
+
+        // Act & Assert
+        assertThat(refreshTokenService.revokeByToken(issued.token())).contains(user.getId());
+        assertThat(refreshTokenService.revokeByToken(issued.token())).isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package de.felixalbert.expensetracker.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import de.felixalbert.expensetracker.security.model.JwtClaims;
+import de.felixalbert.expensetracker.security.model.RevokedAccessToken;
+import de.felixalbert.expensetracker.security.repository.RevokedAccessTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTests {
+
+    @Mock
+    private RevokedAccessTokenRepository repository;
+
+    @Test
+    void revokeAllFor_rejectsEarlierTokensOfThatUserOnly() {
+        // Arrange
+        TokenRevocationService revocationService = service(false);
+        Instant issuedBefore = Instant.now().minusSeconds(60);
+
+        // Act
+        revocationService.revokeAllFor(1L);
+
+        // Assert
+        assertThat(revocationService.isRevoked(claims(1L, issuedBefore, null))).isTrue();
+        assertThat(revocationService.isRevoked(claims(2L, issuedBefore, null))).isFalse();
+        assertThat(revocationService.isRevoked(claims(1L, Instant.now().plusSeconds(2), null))).isFalse();
+    }
+
+    @Test
+    void isRevoked_tokenWithoutUserId_isNeverRevoked() {
+        // Arrange
+        TokenRevocationService revocationService = service(false);
+
+        // Act
+        revocationService.revokeAllFor(1L);
+
+        // Assert
+        assertThat(revocationService.isRevoked(claims(null, Instant.now().minusSeconds(60), null))).isFalse();
+    }
+
+    @Test
+    void revoke_rejectsThatTokenOnlyWithoutPersisting() {
+        // Arrange
+        TokenRevocationService revocationService = service(false);
+        Instant issuedAt = Instant.now().minusSeconds(60);
+
+        // Act
+        revocationService.revoke(claims(1L, issuedAt, "jti-1"));
+
+        // Assert
+        assertThat(revocationService.isRevoked(claims(1L, issuedAt, "jti-1"))).isTrue();
+        assertThat(revocationService.isRevoked(claims(1L, issuedAt, "jti-2"))).isFalse();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void revoke_persistent_storesTokenId() {
+        // Arrange
+        TokenRevocationService revocationService = service(true);
+
+        // Act
+        revocationService.revoke(claims(1L, Instant.now(), "jti-1"));
+
+        // Assert
+        verify(repository).save(any(RevokedAccessToken.class));
+        verify(repository, never()).deleteExpired(any());
+    }
+
+    @Test
+    void restore_persistent_reloadsUnexpiredRevocations() {
+        // Arrange
+        TokenRevocationService revocationService = service(true);
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        when(repository.findByExpiresAtAfter(any()))
+            .thenReturn(List.of(new RevokedAccessToken("jti-1", issuedAt.plusSeconds(900))));
+
+        // Act
+        revocationService.restore();
+
+        // Assert
+        assertThat(revocationService.isRevoked(claims(1L, issuedAt, "jti-1"))).isTrue();
+        verify(repository).deleteExpired(any());
+    }
+
+    private TokenRevocationService service(boolean persistent) {
+        return new TokenRevocationService(Duration.ofMinutes(15), repository, persistent);
+    }
+
+    private static JwtClaims claims(Long userId, Instant issuedAt, String tokenId) {
+        return new JwtClaims("test@test.com", userId, List.of("ROLE_USER"), issuedAt, issuedAt.plusSeconds(900), tokenId);
+    }
+}
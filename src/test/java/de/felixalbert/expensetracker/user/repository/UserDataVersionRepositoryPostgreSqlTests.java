@@ -0,0 +1,39 @@
+package de.felixalbert.expensetracker.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import de.felixalbert.expensetracker.common.persistence.PostgreSqlJpaTest;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.model.UserTestDataBuilder;
+
+// the update ... returning of UserDataVersionRepositoryImpl; H2 runs the final table variant instead
+@PostgreSqlJpaTest
+class UserDataVersionRepositoryPostgreSqlTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void incrementDataVersion_returnsNewVersionOfThatUserOnly() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        User other = userRepository.save(UserTestDataBuilder.anotherUser().build());
+
+        // Act
+        userRepository.incrementDataVersion(user.getId(), 1);
+        OptionalLong version = userRepository.incrementDataVersion(user.getId(), 3);
+        OptionalLong unchanged = userRepository.incrementDataVersion(user.getId(), 0);
+
+        // Assert
+        assertThat(version).hasValue(4L);
+        assertThat(unchanged).hasValue(4L);
+        assertThat(userRepository.findDataVersionById(user.getId())).contains(4L);
+        assertThat(userRepository.incrementDataVersion(-1L, 1)).isEmpty();
+        assertThat(userRepository.findDataVersionById(other.getId())).contains(0L);
+    }
+}
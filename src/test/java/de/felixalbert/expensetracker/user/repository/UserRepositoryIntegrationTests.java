@@ -1,6 +1,7 @@
 package de.felixalbert.expensetracker.user.repository;
 
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,4 +34,21 @@ class UserRepositoryIntegrationTests {
         assertThat(found).isPresent();
         assertThat(found.get().getEmail()).isEqualTo(user.getEmail());
     }
-}
\ No newline at end of file
+
+    @Test
+    void incrementDataVersion_bumpsVersionOfThatUserOnly() {
+        // Arrange
+        User user = userRepository.save(UserTestDataBuilder.aUser().build());
+        User other = userRepository.save(UserTestDataBuilder.anotherUser().build());
+
+        // Act
+        userRepository.incrementDataVersion(user.getId(), 1);
+        OptionalLong version = userRepository.incrementDataVersion(user.getId(), 3);
+
+        // Assert
+        assertThat(version).hasValue(4L);
+        assertThat(userRepository.findDataVersionById(user.getId())).contains(4L);
+        assertThat(userRepository.incrementDataVersion(-1L, 1)).isEmpty();
+        assertThat(userRepository.findDataVersionById(other.getId())).contains(0L);
+    }
+}
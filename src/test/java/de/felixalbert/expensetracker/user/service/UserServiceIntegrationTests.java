@@ -0,0 +1,86 @@
+package de.felixalbert.expensetracker.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.felixalbert.expensetracker.common.persistence.SqlStatementRecorder;
+import de.felixalbert.expensetracker.user.exception.UserAlreadyInUseException;
+import de.felixalbert.expensetracker.user.model.User;
+import de.felixalbert.expensetracker.user.repository.UserRepository;
+
+/**
+ * Registration is one insert; duplicates are detected by the unique constraint. Runs
+ * without a surrounding test transaction, like a real request.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "de.felixalbert.expensetracker.common.persistence.SqlStatementRecorder")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(UserService.class)
+@ActiveProfiles("jpa-test")
+class UserServiceIntegrationTests {
+
+    private static final String USERS_TABLE = "\\busers\\b";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    void createUser_newEmail_insertsWithSingleStatement() {
+        // Act
+        User user = userService.createUser("new@test.com", "password123");
+
+        // Assert
+        assertThat(user.getId()).isNotNull();
+        assertThat(SqlStatementRecorder.statementsMatching(USERS_TABLE))
+            .singleElement().asString().containsIgnoringCase("insert into users");
+    }
+
+    @Test
+    void createUser_emailTakenElsewhere_isTranslatedToUserAlreadyInUse() {
+        // Arrange
+        userRepository.save(new User("taken@test.com", "hash"));
+
+        // Act & Assert
+        assertThrows(UserAlreadyInUseException.class,
+            () -> userService.createUser("taken@test.com", "password123"));
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createUser_knownTakenEmail_skipsHashing() {
+        // Arrange
+        userService.createUser("repeat@test.com", "password123");
+        clearInvocations(passwordEncoder);
+
+        // Act & Assert
+        assertThrows(UserAlreadyInUseException.class,
+            () -> userService.createUser("repeat@test.com", "password123"));
+        verifyNoInteractions(passwordEncoder);
+    }
+}